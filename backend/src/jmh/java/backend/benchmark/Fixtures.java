@@ -0,0 +1,75 @@
+package backend.benchmark;
+
+import backend.dto.TaskResponse;
+import backend.dto.UserSimpleResponse;
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Role;
+import backend.model.Task;
+import backend.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic model objects shared by the JMH benchmarks, shaped like production rows.
+ */
+public final class Fixtures {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 15, 9, 30);
+
+    private Fixtures() {
+    }
+
+    public static User user(long id, RoleName roleName) {
+        return User.builder()
+                .id(id)
+                .fullName("User " + id)
+                .username("user" + id + "@example.com")
+                .email("user" + id + "@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Q5Qq0K2JkLAqMBa2E6y9xW")
+                .role(new Role(roleName == RoleName.ADMIN ? 1L : 2L, roleName))
+                .createdAt(NOW)
+                .build();
+    }
+
+    public static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(i + 1, i % 10 == 0 ? RoleName.ADMIN : RoleName.USER));
+        }
+        return users;
+    }
+
+    public static Task task(long id, User creator, User assignee) {
+        return Task.builder()
+                .id(id)
+                .title("Task " + id)
+                .description("Prepare the quarterly report for task " + id + " and share it with the team")
+                .status(TaskStatus.values()[(int) (id % TaskStatus.values().length)])
+                .priority(TaskPriority.values()[(int) (id % TaskPriority.values().length)])
+                .creator(creator)
+                .assignee(assignee)
+                .createdAt(NOW.minusDays(id % 30))
+                .updatedAt(NOW.minusMinutes(id))
+                .version(id % 5)
+                .build();
+    }
+
+    public static List<TaskResponse> taskResponses(int count) {
+        UserSimpleResponse creator = new UserSimpleResponse(1L, "user1@example.com", "user1@example.com");
+        UserSimpleResponse assignee = new UserSimpleResponse(2L, "user2@example.com", "user2@example.com");
+        List<TaskResponse> tasks = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            tasks.add(new TaskResponse(id, "Task " + id,
+                    "Prepare the quarterly report for task " + id + " and share it with the team",
+                    TaskStatus.values()[(int) (id % TaskStatus.values().length)],
+                    TaskPriority.values()[(int) (id % TaskPriority.values().length)],
+                    id % 2 == 0 ? assignee : null, creator,
+                    NOW.minusDays(id % 30), NOW.minusMinutes(id), id % 5));
+        }
+        return tasks;
+    }
+}
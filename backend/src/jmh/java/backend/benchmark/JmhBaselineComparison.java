@@ -0,0 +1,141 @@
+package backend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with a stored baseline and exits non-zero when any benchmark
+ * got slower, or allocates more per operation, by more than the given threshold.
+ * <p>
+ * Usage: {@code JmhBaselineComparison <result.json> <baseline.json> <threshold>}. A missing
+ * baseline fails the run, as does a baseline sharing no benchmark with the result: either would
+ * otherwise pass without comparing anything. Copy the result file there to adopt it, or skip the
+ * comparison explicitly with {@code -Djmh.baseline.skip=true}. The comparison is also written as
+ * JSON next to the result ({@code *-comparison.json}) for CI to pick up.
+ */
+public final class JmhBaselineComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JmhBaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("usage: JmhBaselineComparison <result.json> <baseline.json> <threshold>");
+            System.exit(2);
+        }
+        File resultFile = new File(args[0]);
+        File baselineFile = new File(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+
+        if (!baselineFile.isFile()) {
+            System.err.printf("No JMH baseline at %s; adopt this run with: cp %s %s"
+                    + " (or pass -Djmh.baseline.skip=true)%n", baselineFile, resultFile, baselineFile);
+            System.exit(1);
+        }
+
+        Map<String, JsonNode> results = index(MAPPER.readTree(resultFile));
+        Map<String, JsonNode> baseline = index(MAPPER.readTree(baselineFile));
+
+        ArrayNode comparison = MAPPER.createArrayNode();
+        int regressions = 0;
+        int compared = 0;
+        System.out.printf("%-90s %14s %14s %9s %12s%n", "benchmark", "baseline", "current", "change", "alloc B/op");
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode previous = baseline.get(entry.getKey());
+            if (previous == null) {
+                continue;
+            }
+            compared++;
+            JsonNode current = entry.getValue();
+            boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+
+            double before = previous.path("primaryMetric").path("score").asDouble();
+            double after = current.path("primaryMetric").path("score").asDouble();
+            double timeChange = relativeChange(before, after, higherIsBetter);
+
+            double allocBefore = allocation(previous);
+            double allocAfter = allocation(current);
+            double allocChange = relativeChange(allocBefore, allocAfter, false);
+
+            boolean regressed = timeChange > threshold || allocChange > threshold;
+            if (regressed) {
+                regressions++;
+            }
+
+            ObjectNode row = comparison.addObject();
+            row.put("benchmark", entry.getKey());
+            row.put("unit", current.path("primaryMetric").path("scoreUnit").asText());
+            row.put("baseline", before);
+            row.put("current", after);
+            row.put("change", timeChange);
+            row.put("allocBaseline", allocBefore);
+            row.put("allocCurrent", allocAfter);
+            row.put("allocChange", allocChange);
+            row.put("regressed", regressed);
+
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %12.0f%s%n", entry.getKey(), before, after,
+                    timeChange * 100, allocAfter, regressed ? "  REGRESSION" : "");
+        }
+
+        File comparisonFile = new File(resultFile.getParentFile(),
+                resultFile.getName().replace(".json", "") + "-comparison.json");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(comparisonFile, comparison);
+
+        if (compared == 0) {
+            System.err.printf("None of the %d benchmark(s) in %s appear in %s%n",
+                    results.size(), resultFile, baselineFile);
+            System.exit(1);
+        }
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.0f%% against %s%n",
+                    regressions, threshold * 100, baselineFile);
+            System.exit(1);
+        }
+    }
+
+    // Positive means worse, regardless of whether the mode's score rises or falls when improving.
+    private static double relativeChange(double before, double after, boolean higherIsBetter) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == 0) {
+            return 0;
+        }
+        double change = (after - before) / before;
+        return higherIsBetter ? -change : change;
+    }
+
+    private static double allocation(JsonNode benchmark) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = benchmark.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            // Older JMH versions prefix secondary metric names with a middle dot.
+            if (metric.getKey().replace("·", "").equals(ALLOCATION_METRIC)) {
+                return metric.getValue().path("score").asDouble();
+            }
+        }
+        return Double.NaN;
+    }
+
+    // Keyed by benchmark method plus its @Param values, e.g. "...PasswordEncoderBenchmark.encode{strength=12}".
+    private static Map<String, JsonNode> index(JsonNode runs) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            String key = run.path("benchmark").asText() + (params.isEmpty() ? "" : params.toString())
+                    + " [" + run.path("mode").asText() + "]";
+            indexed.put(key, run);
+        }
+        return indexed;
+    }
+}
@@ -0,0 +1,167 @@
+package backend.benchmark;
+
+import backend.TaskApplication;
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Role;
+import backend.model.Task;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.JwtTokenProvider;
+import backend.security.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/tasks?limit=20 against the running application, Tomcat on platform threads versus
+ * {@code spring.threads.virtual.enabled=true}. Every benchmark thread is a closed-loop client,
+ * so throughput is requests per second and the sample mode reports per-request percentiles.
+ * <p>
+ * Each trial boots its own application on a random port and H2 database. A fixed delay before
+ * every JDBC connection checkout stands in for the network round trip to MySQL, which is where
+ * handlers really spend their time. Run alone with {@code mvn -Pjmh verify -Djmh.include=ThreadMode}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 4, time = 5)
+@Threads(256)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    private static final int SEEDED_TASKS = 200;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"20"})
+    private long latencyMs;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Arguments rather than default properties, which application.yml would override.
+        context = new SpringApplicationBuilder(TaskApplication.class, SimulatedLatencyConfig.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-" + threads
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--benchmark.latency-ms=" + latencyMs,
+                        "--logging.level.root=WARN");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks?limit=20"))
+                .header("Authorization", "Bearer " + seed(context))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int listTasks() throws IOException, InterruptedException {
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/tasks returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    private static String seed(ConfigurableApplicationContext context) {
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        Role role = roleRepository.findByName(RoleName.USER)
+                .orElseGet(() -> roleRepository.save(new Role(null, RoleName.USER)));
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .fullName("Benchmark")
+                .username("bench@example.com")
+                .email("bench@example.com")
+                .password("unused")
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(SEEDED_TASKS);
+        for (int i = 0; i < SEEDED_TASKS; i++) {
+            tasks.add(Task.builder()
+                    .title("Task " + i)
+                    .status(TaskStatus.values()[i % TaskStatus.values().length])
+                    .priority(TaskPriority.MEDIUM)
+                    .creator(user)
+                    .assignee(user)
+                    .createdAt(now)
+                    .updatedAt(now.minusSeconds(i))
+                    .build());
+        }
+        context.getBean(TaskRepository.class).saveAll(tasks);
+
+        UserPrincipal principal = UserPrincipal.create(user);
+        return context.getBean(JwtTokenProvider.class).generateAccessToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()),
+                user.getEmail());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class SimulatedLatencyConfig {
+
+        @Bean
+        static BeanPostProcessor simulatedDatabaseLatency(Environment environment) {
+            long latencyMs = environment.getProperty("benchmark.latency-ms", Long.class, 0L);
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || latencyMs <= 0) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            try {
+                                Thread.sleep(latencyMs);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new SQLException("Interrupted while simulating database latency", e);
+                            }
+                            return super.getConnection();
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
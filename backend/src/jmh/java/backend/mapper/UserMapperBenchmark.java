@@ -0,0 +1,36 @@
+package backend.mapper;
+
+import backend.benchmark.Fixtures;
+import backend.dto.UserDto;
+import backend.model.User;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private UserMapper userMapper;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        userMapper = Mappers.getMapper(UserMapper.class);
+        users = Fixtures.users(size);
+    }
+
+    @Benchmark
+    public List<UserDto> toDtoList() {
+        return userMapper.toDtoList(users);
+    }
+}
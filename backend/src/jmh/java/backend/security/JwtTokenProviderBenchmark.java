@@ -0,0 +1,80 @@
+package backend.security;
+
+import backend.benchmark.Fixtures;
+import backend.enums.RoleName;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and the two verification paths of the auth filter: a cold parse (signature
+ * check, what {@link JwtTokenProvider#verify} does on a cache miss) and a verified-cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET =
+            "CvsHphcFevtdY3HnphT7gUvnIgDin5hlQG+9O1cCD7vhGEltf+QsEasz1n91kqFCf8vkB4RDnf5nAfblMR+CgA==";
+
+    private JwtTokenProvider provider;
+    private JwtParser parser;
+    private Authentication authentication;
+    private UserPrincipal principal;
+    private String token;
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secretKey", SECRET);
+        ReflectionTestUtils.setField(provider, "tokenValidity", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "refreshTokenValidity", 2_592_000_000L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", 10_000L);
+        provider.init();
+        parser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build();
+
+        principal = UserPrincipal.create(Fixtures.user(42L, RoleName.USER));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = provider.generateAccessToken(authentication, principal.getEmail());
+        claims = provider.verify(token);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return provider.generateAccessToken(authentication, principal.getEmail());
+    }
+
+    @Benchmark
+    public Claims parseUncached() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return provider.verify(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(claims, principal);
+    }
+
+    @Benchmark
+    public List<String> getRoles() {
+        return provider.getRoles(claims);
+    }
+}
@@ -0,0 +1,51 @@
+package backend.service.impl;
+
+import backend.benchmark.Fixtures;
+import backend.dto.TaskResponse;
+import backend.enums.RoleName;
+import backend.model.Task;
+import backend.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping for a page of tasks, half of them assigned.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    @Param({"1", "100"})
+    private int size;
+
+    private TaskServiceImpl taskService;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        // mapToResponse touches no collaborators.
+        taskService = new TaskServiceImpl(null, null, null, null, null, null, null);
+        User creator = Fixtures.user(1L, RoleName.ADMIN);
+        User assignee = Fixtures.user(2L, RoleName.USER);
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(Fixtures.task(i + 1, creator, i % 2 == 0 ? assignee : null));
+        }
+    }
+
+    @Benchmark
+    public void mapToResponse(Blackhole blackhole) {
+        for (Task task : tasks) {
+            TaskResponse response = taskService.mapToResponse(task);
+            blackhole.consume(response);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package backend.services.components.utils;
+
+import backend.benchmark.Fixtures;
+import backend.dto.TaskResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips of a task list through the static JacksonUtil helpers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonUtilBenchmark {
+
+    @Param({"1", "100"})
+    private int size;
+
+    private List<TaskResponse> tasks;
+    private String json;
+    private String singleJson;
+
+    @Setup
+    public void setUp() {
+        tasks = Fixtures.taskResponses(size);
+        json = JacksonUtil.writeAsJsonString(tasks);
+        singleJson = JacksonUtil.writeAsJsonString(tasks.getFirst());
+    }
+
+    @Benchmark
+    public String writeList() {
+        return JacksonUtil.writeAsJsonString(tasks);
+    }
+
+    @Benchmark
+    public List<TaskResponse> readList() {
+        return JacksonUtil.jsonString2List(json, TaskResponse.class);
+    }
+
+    @Benchmark
+    public TaskResponse readObject() {
+        return JacksonUtil.parseObject(singleJson, TaskResponse.class);
+    }
+}
@@ -0,0 +1,85 @@
+package backend.services.components.utils;
+
+import backend.benchmark.Fixtures;
+import backend.dto.TaskResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonCodec's cached readers/writers against the previous JacksonUtil approach: a shared
+ * mapper whose inclusion is switched on every call, and a JavaType built for every list read.
+ * Run with {@code -t 4} as well to see the cost of mutating shared configuration under load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    @Param({"1", "100"})
+    private int size;
+
+    private ObjectMapper sharedMapper;
+    private JsonCodec codec;
+    private List<TaskResponse> tasks;
+    private String json;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() {
+        sharedMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        codec = new JsonCodec(sharedMapper.copy());
+        // Unassigned tasks give NON_NULL something to drop.
+        tasks = Fixtures.taskResponses(size).stream()
+                .map(task -> new TaskResponse(task.id(), task.title(), null, task.status(), task.priority(),
+                        null, task.creator(), task.createdAt(), task.updatedAt(), task.version()))
+                .toList();
+        json = codec.write(tasks);
+        jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String legacyWriteIgnoreNull() throws IOException {
+        sharedMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        return sharedMapper.writeValueAsString(tasks);
+    }
+
+    @Benchmark
+    public String codecWriteIgnoreNull() {
+        return codec.write(tasks, JsonInclude.Include.NON_NULL);
+    }
+
+    @Benchmark
+    public byte[] codecWriteIgnoreNullBytes() {
+        return codec.writeBytes(tasks, JsonInclude.Include.NON_NULL);
+    }
+
+    @Benchmark
+    public List<TaskResponse> legacyReadList() throws IOException {
+        JavaType type = sharedMapper.getTypeFactory().constructParametricType(List.class, TaskResponse.class);
+        return sharedMapper.readerFor(type).readValue(json);
+    }
+
+    @Benchmark
+    public List<TaskResponse> codecReadList() {
+        return codec.readList(json, TaskResponse.class);
+    }
+
+    @Benchmark
+    public List<TaskResponse> codecReadListBytes() {
+        return codec.readList(jsonBytes, TaskResponse.class);
+    }
+}
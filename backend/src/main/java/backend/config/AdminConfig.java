@@ -9,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @Slf4j
@@ -24,7 +25,9 @@ public class AdminConfig implements CommandLineRunner {
         this.passwordEncoder = passwordEncoder;
     }
 
+    // Read-write transaction, so the existence checks read the primary rather than a replica.
     @Override
+    @Transactional
     public void run(String... args) {
         log.info("Checking if an admin user exists");
 
@@ -5,10 +5,141 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 @ConfigurationProperties(prefix = "app")
 @Getter
 @Setter
 public class AppProperties {
     private String baseUrl;
+    private final Security security = new Security();
+    private final Tasks tasks = new Tasks();
+    private final Users users = new Users();
+    private final Email email = new Email();
+    private final Datasource datasource = new Datasource();
+
+    @Getter
+    @Setter
+    public static class Security {
+        private final PrincipalCache principalCache = new PrincipalCache();
+    }
+
+    @Getter
+    @Setter
+    public static class PrincipalCache {
+        private Duration ttl = Duration.ofMinutes(5);
+        private long maxSize = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Tasks {
+        private final Stream stream = new Stream();
+        private final Changes changes = new Changes();
+        private final Export export = new Export();
+        private final Imports imports = new Imports();
+        private final Archive archive = new Archive();
+    }
+
+    @Getter
+    @Setter
+    public static class Stream {
+        private int bufferSize = 256;
+        private int maxSubscribers = 10_000;
+        private Duration heartbeat = Duration.ofSeconds(25);
+        private Duration timeout = Duration.ofMinutes(30);
+        // A subscriber whose connection accepts no write for this long is dropped.
+        private Duration sendTimeout = Duration.ofSeconds(10);
+        // Platform threads doing the socket writes, and writes allowed to wait for one.
+        private int writerThreads = 32;
+        private int writeQueueSize = 1024;
+    }
+
+    @Getter
+    @Setter
+    public static class Changes {
+        // Changes newer than this are held back until in-flight transactions have committed.
+        private Duration settleTime = Duration.ofSeconds(5);
+        // Task writes roll back after this many seconds, so none can commit behind the horizon.
+        // Whole seconds (the transaction timeout's unit), and below settleTime.
+        private int writeTimeoutSeconds = 3;
+        private Duration tombstoneRetention = Duration.ofDays(30);
+        private int maxLimit = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Export {
+        // Upper bound for one export response; the async default would cut large exports short.
+        private Duration timeout = Duration.ofMinutes(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Imports {
+        // Rows per transaction; inserts inside a chunk go out as JDBC batches.
+        private int chunkSize = 1000;
+        private int maxConcurrent = 2;
+        // Finished imports (and their rejected-rows reports) are kept this long.
+        private Duration retention = Duration.ofHours(24);
+    }
+
+    @Getter
+    @Setter
+    public static class Archive {
+        // DONE tasks untouched for this long move to tasks_archive.
+        private Duration after = Duration.ofDays(30);
+        // Tasks moved per transaction; keeps each transaction's row locks short-lived.
+        private int batchSize = 500;
+        // Sleep between batches, so replication and other writers keep up.
+        private Duration pause = Duration.ofMillis(200);
+        // Cap per scheduled run; a large backlog is worked off over several runs.
+        private int maxBatchesPerRun = 200;
+    }
+
+    @Getter
+    @Setter
+    public static class Users {
+        private final Provisioning provisioning = new Provisioning();
+    }
+
+    @Getter
+    @Setter
+    public static class Provisioning {
+        // BCrypt workers; 0 means one less than the available cores, so logins keep a core.
+        private int workers = 0;
+        // Users per transaction.
+        private int batchSize = 100;
+        private int maxUsers = 10_000;
+        private Duration retention = Duration.ofHours(24);
+    }
+
+    @Getter
+    @Setter
+    public static class Email {
+        private String from = "no-reply@task-manager.local";
+        // Outbox rows sent per dispatcher run; each recipient gets one digest for its rows.
+        private int batchSize = 500;
+        // Sent and abandoned outbox rows are kept this long.
+        private Duration retention = Duration.ofDays(7);
+        private final Retry retry = new Retry();
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+        // Sends per notification, including the first; after that it is left as FAILED.
+        private int maxAttempts = 3;
+        private int delayHours = 1;
+    }
+
+    // The replica pool itself is bound from app.datasource.replica.* by ReadReplicaConfig.
+    @Getter
+    @Setter
+    public static class Datasource {
+        // How long a user's reads stay on the primary after they commit a write.
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+        private long maxTrackedWriters = 100_000;
+    }
 }
@@ -0,0 +1,28 @@
+package backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    public static final String USER_PRINCIPALS = "userPrincipals";
+
+    // Caches are registered up front so actuator binds their hit/miss statistics at startup
+    // (cache.gets{cache="userPrincipals",result="hit|miss"}).
+    @Bean
+    public CacheManager cacheManager(AppProperties appProperties) {
+        AppProperties.PrincipalCache principalCache = appProperties.getSecurity().getPrincipalCache();
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(USER_PRINCIPALS, Caffeine.newBuilder()
+                .maximumSize(principalCache.getMaxSize())
+                .expireAfterWrite(principalCache.getTtl())
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
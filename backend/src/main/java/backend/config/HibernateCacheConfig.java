@@ -0,0 +1,61 @@
+package backend.config;
+
+import backend.model.Role;
+import backend.model.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Regions for Hibernate's second-level and query caches (see {@code @Cache} on
+ * {@link User} and {@link Role}).
+ * <p>
+ * The JCache manager is owned by this context rather than shared JVM-wide, so two application
+ * contexts (e.g. cached test contexts) never see each other's entities. The update-timestamps
+ * region must never evict or expire, otherwise the query cache could serve stale results.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    static final String QUERY_RESULTS = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(Role.CACHE_REGION, region(64, null));
+        cacheManager.createCache(User.CACHE_REGION, region(10_000, Duration.ofMinutes(10)));
+        cacheManager.createCache(QUERY_RESULTS, region(10_000, Duration.ofMinutes(10)));
+        cacheManager.createCache(UPDATE_TIMESTAMPS, region(null, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(Integer maximumSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStatisticsEnabled(true);
+        if (maximumSize != null) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (expireAfterWrite != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        }
+        return configuration;
+    }
+}
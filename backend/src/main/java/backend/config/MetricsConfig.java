@@ -0,0 +1,42 @@
+package backend.config;
+
+import backend.services.components.utils.QueryCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Application metrics on top of what actuator binds by itself (http.server.requests, hikaricp.*,
+ * hibernate.*, cache.*): per-request Hibernate statement and entity-load counts.
+ * Timers on JWT verification and user loading come from {@code @Timed}, password hashing
+ * from TimedPasswordEncoder and JSON (de)serialization from TimedJacksonHttpMessageConverter.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public QueryCounter queryCounter() {
+        return new QueryCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer(QueryCounter queryCounter) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCounter);
+            properties.put(AvailableSettings.INTERCEPTOR, queryCounter);
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryMetricsFilter> queryMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryMetricsFilter> registration =
+                new FilterRegistrationBean<>(new QueryMetricsFilter(meterRegistry));
+        // Just inside the observation filter that times http.server.requests, ahead of security.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,53 @@
+package backend.config;
+
+import backend.services.components.utils.QueryCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements and entity loads each request caused, tagged like
+ * http.server.requests (method + URI template) so the series stay low-cardinality.
+ * Registered ahead of the security chain so authentication lookups are counted too.
+ */
+@RequiredArgsConstructor
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private static final double[] BUCKETS = {1, 2, 5, 10, 20, 50, 100};
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.Scope scope = QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            summary("http.server.requests.queries", "SQL statements per request", request, uri)
+                    .record(scope.statements());
+            summary("http.server.requests.entity.loads", "Hibernate entity loads per request", request, uri)
+                    .record(scope.entityLoads());
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .serviceLevelObjectives(BUCKETS)
+                .register(meterRegistry);
+    }
+}
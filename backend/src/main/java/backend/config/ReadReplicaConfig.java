@@ -0,0 +1,65 @@
+package backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary and replica connection pools behind a {@link ReadWriteRoutingDataSource}. Only active
+ * when {@code app.datasource.replica.url} is set; otherwise Boot's single auto-configured pool
+ * is used as before.
+ * <p>
+ * The primary is configured by {@code spring.datasource.*} and the replica by
+ * {@code app.datasource.replica.*} (url, username, password, driver-class-name, hikari.*).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // Not an autowire candidate, so Boot's own DataSourceProperties stays unambiguous.
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("app.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = replicaDataSourceProperties().initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    // Lazy: the transaction manager asks for a connection as a transaction begins, before it is
+    // flagged read-only; the proxy defers the real checkout (and the routing) to the first statement.
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 AppProperties appProperties) {
+        AppProperties.Datasource properties = appProperties.getDatasource();
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica,
+                properties.getReadYourWritesWindow(), properties.getMaxTrackedWriters());
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,110 @@
+package backend.config;
+
+import backend.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ * <p>
+ * Read-only covers {@code @Transactional(readOnly = true)} services and Spring Data repository
+ * calls made outside a service transaction. Work without a transaction (plain JDBC at startup)
+ * goes to the primary. After a user commits a read-write transaction, their own reads stay on
+ * the primary for {@code app.datasource.read-your-writes-window}, so they never see the replica
+ * lag behind what they just saved. {@link #onPrimary} pins a block of reads explicitly.
+ * <p>
+ * The routing key is read when a connection is first needed, which is only after the
+ * transaction has been flagged read-only if this sits behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} (see ReadReplicaConfig).
+ */
+public final class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    // User id -> marker, present while that user's read-your-writes window is open.
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      Duration readYourWritesWindow, long maxTrackedWriters) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(maxTrackedWriters)
+                .build();
+    }
+
+    /**
+     * Runs {@code work} with any read-only transaction it starts (or one started but not yet
+     * connected) served by the primary. For reads that must not observe replica lag.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            } else {
+                PRIMARY_ONLY.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            openWindowAfterCommit();
+            return Target.PRIMARY;
+        }
+        if (PRIMARY_ONLY.get() != null) {
+            return Target.PRIMARY;
+        }
+        Long userId = currentUserId();
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    // The user is read at commit rather than now: login only authenticates mid-transaction.
+    private void openWindowAfterCommit() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Long userId = currentUserId();
+                if (userId != null) {
+                    recentWriters.put(userId, Boolean.TRUE);
+                }
+            }
+        });
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+}
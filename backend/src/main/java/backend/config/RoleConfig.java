@@ -6,6 +6,7 @@ import backend.repository.RoleRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @Slf4j
@@ -17,7 +18,9 @@ public class RoleConfig implements CommandLineRunner {
         this.roleRepository = roleRepository;
     }
 
+    // Not read-only, so with a replica configured the lookups still see the primary.
     @Override
+    @Transactional
     public void run(String... args) {
         log.info("Checking if roles exist, and adding them if they don't");
 
@@ -2,9 +2,13 @@ package backend.config;
 
 import backend.security.JwtAuthenticationEntryPoint;
 import backend.security.JwtAuthenticationFilter;
+import backend.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -41,14 +45,14 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter authenticationFilter;
 
     @Bean
-    public static PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public static PasswordEncoder passwordEncoder(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(10), 10, meterRegistry);
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(ObjectProvider<MeterRegistry> meterRegistry) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
-        provider.setPasswordEncoder(new BCryptPasswordEncoder(12));
+        provider.setPasswordEncoder(new TimedPasswordEncoder(new BCryptPasswordEncoder(12), 12, meterRegistry));
         provider.setUserDetailsService(userDetailsService);
         return provider;
     }
@@ -64,6 +68,8 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authorize -> authorize
+                        // Async dispatches (SSE) reuse the security context of the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public auth endpoints
                         .requestMatchers(HttpMethod.POST, "/api/auth/register").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
@@ -77,6 +83,10 @@ public class SecurityConfig {
                         // User management endpoints - only ADMIN
                         .requestMatchers("/api/users/**").hasAuthority("ADMIN")
 
+                        // Liveness and Prometheus scraping; keep /actuator off the public ingress
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
+
                         // Swagger and docs (optional)
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
 
@@ -97,6 +107,7 @@ public class SecurityConfig {
         configuration.addAllowedOriginPattern("*"); // ✅ Allow all origins for dev
         configuration.addAllowedMethod("*");        // Allow all HTTP methods
         configuration.addAllowedHeader("*");        // Allow all headers
+        configuration.addExposedHeader("ETag");     // Let the frontend read ETags for conditional GETs
         configuration.setAllowCredentials(true);    // Allow credentials (cookies, auth headers)
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,51 @@
+package backend.config;
+
+import backend.model.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Task ids used to come from an AUTO_INCREMENT column. They now come from the pooled
+ * "tasks_seq" generator (a table on MySQL) so inserts can be JDBC-batched. The generator is
+ * moved past the highest existing id so it never hands out an id already in use.
+ * <p>
+ * This runs as soon as the EntityManagerFactory has been built: Hibernate's schema update has
+ * created tasks_seq by then, but no repository, scheduled job or request can have drawn an id
+ * yet, because nothing receives the factory before its post-processors have run.
+ */
+@Component
+@Slf4j
+public class TaskIdSequenceInitializer implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof AbstractEntityManagerFactoryBean factory && factory.getDataSource() != null) {
+            align(new JdbcTemplate(factory.getDataSource()));
+        }
+        return bean;
+    }
+
+    static void align(JdbcTemplate jdbcTemplate) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tasks", Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+
+        // The pooled optimizer treats the stored value as the top of the next block, so leave a
+        // full block of headroom above the current maximum.
+        long floor = maxId + Task.ID_ALLOCATION_SIZE + 1;
+        try {
+            int updated = jdbcTemplate.update("UPDATE tasks_seq SET next_val = ? WHERE next_val < ?", floor, floor);
+            if (updated > 0) {
+                log.info("Advanced tasks_seq to {} (max task id {})", floor, maxId);
+            }
+        } catch (DataAccessException e) {
+            // Dialects with native sequences have no tasks_seq table to adjust.
+            log.debug("tasks_seq is not a table, skipping sequence alignment: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * A Jackson converter for a binary data format (Smile, CBOR), timed under the same
+ * {@code http.json.serialization} metric as JSON with the format as a tag, so the formats can
+ * be compared directly. The ObjectMapper must be built on the matching JsonFactory.
+ */
+public class TimedBinaryJacksonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    private final Timer readTimer;
+    private final Timer writeTimer;
+
+    public TimedBinaryJacksonHttpMessageConverter(ObjectMapper objectMapper, MediaType mediaType, String format,
+                                                  MeterRegistry meterRegistry) {
+        super(objectMapper, mediaType);
+        this.readTimer = TimedJacksonHttpMessageConverter.timer("read", format, meterRegistry);
+        this.writeTimer = TimedJacksonHttpMessageConverter.timer("write", format, meterRegistry);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        Timer.Sample sample = Timer.start();
+        try {
+            return super.read(type, contextClass, inputMessage);
+        } finally {
+            sample.stop(readTimer);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(writeTimer);
+        }
+    }
+}
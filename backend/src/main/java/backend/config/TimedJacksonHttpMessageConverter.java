@@ -0,0 +1,59 @@
+package backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * The MVC JSON converter, timed as {@code http.json.serialization} with an operation tag of
+ * read or write and a format tag of json. Replaces the default Jackson converter in WebConfig.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final Timer readTimer;
+    private final Timer writeTimer;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.readTimer = timer("read", "json", meterRegistry);
+        this.writeTimer = timer("write", "json", meterRegistry);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        Timer.Sample sample = Timer.start();
+        try {
+            return super.read(type, contextClass, inputMessage);
+        } finally {
+            sample.stop(readTimer);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(writeTimer);
+        }
+    }
+
+    static Timer timer(String operation, String format, MeterRegistry meterRegistry) {
+        return Timer.builder("http.json.serialization")
+                .description("Jackson (de)serialization of MVC request and response bodies")
+                .tag("operation", operation)
+                .tag("format", format)
+                .register(meterRegistry);
+    }
+}
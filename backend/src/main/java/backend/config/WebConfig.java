@@ -1,28 +1,75 @@
 package backend.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import okhttp3.OkHttpClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
 @EnableWebMvc
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final MeterRegistry meterRegistry;
+    private final AppProperties appProperties;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOrigins("http://localhost:3000")  // Allow frontend
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                .allowedHeaders("Authorization", "Content-Type") // Allow Authorization header
-                .exposedHeaders("Authorization")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
+                .allowedHeaders("Authorization", "Content-Type", "If-None-Match", "If-Match") // Allow Authorization and conditional request headers
+                .exposedHeaders("Authorization", "ETag")
                 .allowCredentials(true); // Allow cookies/tokens
     }
 
+    // Jackson converters, all timed and all derived from the ObjectMapper bean so modules and
+    // features match across formats. JSON keeps its place at the front of the Jackson
+    // converters, so it stays the default when Accept allows anything; Smile and CBOR follow
+    // it and are only chosen when asked for (Accept or Content-Type).
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        ObjectMapper json = objectMapper();
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                converters.set(i, new TimedJacksonHttpMessageConverter(json, meterRegistry));
+                converters.add(i + 1, new TimedBinaryJacksonHttpMessageConverter(
+                        json.copyWith(new SmileFactory()), SMILE, "smile", meterRegistry));
+                converters.add(i + 2, new TimedBinaryJacksonHttpMessageConverter(
+                        json.copyWith(new CBORFactory()), MediaType.APPLICATION_CBOR, "cbor", meterRegistry));
+                return;
+            }
+        }
+    }
+
+    // @EnableWebMvc ignores spring.mvc.async.*; SSE emitters set their own timeout, so this
+    // applies to streaming exports.
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(appProperties.getTasks().getExport().getTimeout().toMillis());
+    }
+
     @Bean
     public OkHttpClient okHttpClient() {
         return new OkHttpClient();
@@ -30,7 +77,9 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Bean
     public ObjectMapper objectMapper() {
-        return new ObjectMapper();
+        // Backs the MVC JSON, Smile and CBOR converters (java.time support, ISO dates), so code
+        // writing JSON directly produces the same documents as the controllers.
+        return Jackson2ObjectMapperBuilder.json().build();
     }
 
     @Override
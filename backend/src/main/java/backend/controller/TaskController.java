@@ -1,17 +1,42 @@
 package backend.controller;
 
+import backend.config.WebConfig;
+import backend.dto.TaskBatchResponse;
+import backend.dto.TaskBatchUpdateRequest;
+import backend.dto.TaskChangesResponse;
+import backend.dto.TaskImportResponse;
+import backend.dto.TaskPageResponse;
 import backend.dto.TaskRequest;
 import backend.dto.TaskResponse;
+import backend.dto.TaskStatsResponse;
+import backend.enums.ExportFormat;
 import backend.enums.TaskStatus;
 import backend.security.CurrentUser;
 import backend.security.UserPrincipal;
+import backend.service.TaskExportService;
+import backend.service.TaskImportService;
 import backend.service.TaskService;
+import backend.service.TaskStatsService;
+import backend.service.TaskStreamService;
+import backend.services.components.utils.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -20,33 +45,178 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskStreamService taskStreamService;
+    private final TaskStatsService taskStatsService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    // The formats a task body can take, in the order the message converters prefer them.
+    private static final List<MediaType> REPRESENTATIONS =
+            List.of(MediaType.APPLICATION_JSON, WebConfig.SMILE, MediaType.APPLICATION_CBOR);
+
+    // Reads carry a strong ETag taken from a cheap version probe. A matching If-None-Match
+    // is answered with 304 before any task row is loaded or serialized. includeArchived=true
+    // also searches tasks_archive (old DONE tasks). JSON, Smile and CBOR share each URL, so the
+    // tag names the negotiated format and every response varies by Accept.
 
     @GetMapping
     public ResponseEntity<List<TaskResponse>> getAllTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        MediaType representation = representation(webRequest);
+        String eTag = ETags.forRepresentation(
+                taskService.getTaskListETag(status, assigneeId, null, null, includeArchived), representation);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+        return revalidated(eTag, representation).body(taskService.getAllTasks(status, assigneeId, includeArchived));
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<TaskPageResponse> getTaskPage(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam int limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        MediaType representation = representation(webRequest);
+        String eTag = ETags.forRepresentation(
+                taskService.getTaskListETag(status, assigneeId, limit, after, includeArchived), representation);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+        return revalidated(eTag, representation)
+                .body(taskService.getTaskPage(status, assigneeId, limit, after, includeArchived));
+    }
+
+    // Dashboard counters, served from memory.
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getStats() {
+        return ResponseEntity.ok(taskStatsService.getStats());
+    }
+
+    // Delta sync: tasks changed and ids deleted after the cursor a previous call returned.
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(taskService.getChanges(since, limit));
+    }
+
+    // Every matching task, written row by row as the cursor advances (ndjson by default).
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> taskExportService.exportTasks(status, assigneeId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .cacheControl(CacheControl.noStore())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    // Bulk import from a CSV or NDJSON upload. Returns at once; poll the import for progress.
+    @PostMapping(value = "/imports", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<TaskImportResponse> importTasks(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @CurrentUser UserPrincipal currentUser) {
+        TaskImportResponse taskImport = taskImportService.startImport(file, format, currentUser);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/tasks/imports/" + taskImport.id()))
+                .body(taskImport);
+    }
+
+    @GetMapping("/imports/{id}")
+    public ResponseEntity<TaskImportResponse> getImport(
+            @PathVariable String id,
+            @CurrentUser UserPrincipal currentUser) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(taskImportService.getImport(id, currentUser));
+    }
+
+    // Rows that were not imported, with the reason, as CSV.
+    @GetMapping(value = "/imports/{id}/rejected", produces = "text/csv")
+    public ResponseEntity<Resource> getRejectedRows(
+            @PathVariable String id,
+            @CurrentUser UserPrincipal currentUser) {
+        Resource body = taskImportService.getRejectedRows(id, currentUser);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("rejected-" + id + ".csv")
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    // Committed task changes as Server-Sent Events, optionally narrowed to one status and/or assignee.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTasks(
             @RequestParam(required = false) TaskStatus status,
             @RequestParam(required = false) Long assigneeId) {
-        return ResponseEntity.ok(taskService.getAllTasks(status, assigneeId));
+        return taskStreamService.subscribe(status, assigneeId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id) {
-        return ResponseEntity.ok(taskService.getTaskById(id));
+    public ResponseEntity<TaskResponse> getTaskById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        MediaType representation = representation(webRequest);
+        String eTag = ETags.forRepresentation(taskService.getTaskETag(id, includeArchived), representation);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+        return revalidated(eTag, representation).body(taskService.getTaskById(id, includeArchived));
     }
 
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(
             @Valid @RequestBody TaskRequest request,
+            @CurrentUser UserPrincipal currentUser,
+            NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        TaskResponse task = taskService.createTask(request, currentUser);
+        return tagged(ResponseEntity.status(HttpStatus.CREATED), task, representation(webRequest)).body(task);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> createTasks(
+            @RequestBody List<TaskRequest> requests,
             @CurrentUser UserPrincipal currentUser) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(taskService.createTask(request, currentUser));
+        return ResponseEntity.ok(taskService.createTasks(requests, currentUser));
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> updateTasks(
+            @RequestBody List<TaskBatchUpdateRequest> requests,
+            @CurrentUser UserPrincipal currentUser) {
+        return ResponseEntity.ok(taskService.updateTasks(requests, currentUser));
+    }
+
+    // Writes honour If-Match: a stale ETag is rejected with 412 instead of overwriting a newer edit.
+
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable Long id,
             @Valid @RequestBody TaskRequest request,
-            @CurrentUser UserPrincipal currentUser) {
-        return ResponseEntity.ok(taskService.updateTask(id, request, currentUser));
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @CurrentUser UserPrincipal currentUser,
+            NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        TaskResponse task = taskService.updateTask(id, request, ETags.expectedVersion(ifMatch, id), currentUser);
+        return tagged(ResponseEntity.ok(), task, representation(webRequest)).body(task);
     }
 
 
@@ -55,8 +225,11 @@ public class TaskController {
     public ResponseEntity<TaskResponse> updateTaskStatus(
             @PathVariable Long id,
             @RequestParam TaskStatus status,
-            @CurrentUser UserPrincipal currentUser) {
-        return ResponseEntity.ok(taskService.updateTaskStatus(id, status, currentUser));
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @CurrentUser UserPrincipal currentUser,
+            NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        TaskResponse task = taskService.updateTaskStatus(id, status, ETags.expectedVersion(ifMatch, id), currentUser);
+        return tagged(ResponseEntity.ok(), task, representation(webRequest)).body(task);
     }
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(
@@ -65,4 +238,40 @@ public class TaskController {
         taskService.deleteTask(id, currentUser);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // The first format the client accepts, or null when it accepts none of them and the
+    // converters are left to answer 406.
+    private MediaType representation(NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(webRequest)) {
+            for (MediaType representation : REPRESENTATIONS) {
+                if (accepted.isCompatibleWith(representation)) {
+                    return representation;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    // "no-cache" (not "no-store") lets browsers keep the body and revalidate it with If-None-Match.
+    private static ResponseEntity.BodyBuilder revalidated(String eTag, MediaType representation) {
+        return negotiated(ResponseEntity.ok(), representation)
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate());
+    }
+
+    private static ResponseEntity.BodyBuilder tagged(ResponseEntity.BodyBuilder builder, TaskResponse task,
+                                                     MediaType representation) {
+        return negotiated(builder, representation)
+                .eTag(ETags.forRepresentation(ETags.of(task.id(), task.version()), representation));
+    }
+
+    // Pins the body to the format its tag was computed for.
+    private static ResponseEntity.BodyBuilder negotiated(ResponseEntity.BodyBuilder builder, MediaType representation) {
+        builder.varyBy(HttpHeaders.ACCEPT);
+        return representation == null ? builder : builder.contentType(representation);
+    }
+}
@@ -3,6 +3,7 @@ package backend.controller;
 import backend.dto.*;
 import backend.model.Role;
 import backend.model.User;
+import backend.service.UserProvisioningService;
 import backend.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,6 +19,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.jaxb.SpringDataJaxb;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +27,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URI;
 import java.security.Principal;
 import java.util.Arrays;
 import java.util.List;
@@ -34,6 +37,8 @@ import java.util.List;
 public class UserController {
     @Autowired
     UserService userService;
+    @Autowired
+    UserProvisioningService userProvisioningService;
 
     @Operation(summary = "List All Users", parameters = {
             @Parameter(name = "search", description = "Search term to filter users by full name, email, or role", required = false)
@@ -51,6 +56,28 @@ public class UserController {
         return userService.getAllUsers(searchQuery);
     }
 
+    @Operation(summary = "Provision users in bulk",
+            description = "Creates the accounts in the background and returns a provisioning id to poll")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Provisioning started"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized request", content = @Content)
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<UserProvisioningResponse> provisionUsers(@RequestBody List<SignUpRequestDto> requests) {
+        UserProvisioningResponse provisioning = userProvisioningService.provision(requests);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/users/bulk/" + provisioning.id()))
+                .body(provisioning);
+    }
+
+    @Operation(summary = "Progress of a bulk provisioning run")
+    @GetMapping("/bulk/{id}")
+    public ResponseEntity<UserProvisioningResponse> getProvisioning(@PathVariable String id) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(userProvisioningService.getProvisioning(id));
+    }
+
 
 
 }
@@ -0,0 +1,10 @@
+package backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskBatchItemResult(
+        int index,
+        int status,
+        TaskResponse task,
+        String error) {}
@@ -0,0 +1,14 @@
+package backend.dto;
+
+import java.util.List;
+
+public record TaskBatchResponse(
+        int succeeded,
+        int failed,
+        List<TaskBatchItemResult> results) {
+
+    public static TaskBatchResponse of(List<TaskBatchItemResult> results) {
+        int failed = (int) results.stream().filter(result -> result.error() != null).count();
+        return new TaskBatchResponse(results.size() - failed, failed, results);
+    }
+}
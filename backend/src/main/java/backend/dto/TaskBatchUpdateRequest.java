@@ -0,0 +1,18 @@
+package backend.dto;
+
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One item of {@code PATCH /api/tasks/batch}; null fields are left unchanged. A title that is
+ * sent must satisfy the same rules as {@link TaskRequest#title()}.
+ */
+public record TaskBatchUpdateRequest(
+        Long id,
+        @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank") @Size(max = 255) String title,
+        String description,
+        TaskStatus status,
+        TaskPriority priority,
+        Long assigneeId) {}
@@ -0,0 +1,15 @@
+package backend.dto;
+
+import java.util.List;
+
+/**
+ * One page of the delta sync feed. {@code changed} holds tasks created or updated after the
+ * client's cursor, {@code deleted} the ids of tasks removed since then. Clients store
+ * {@code nextCursor} and pass it back as {@code since}; {@code hasMore} means another page
+ * is ready right away.
+ */
+public record TaskChangesResponse(
+        List<TaskResponse> changed,
+        List<Long> deleted,
+        String nextCursor,
+        boolean hasMore) {}
@@ -0,0 +1,42 @@
+package backend.dto;
+
+import backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position {@code (updatedAt, id)} over tasks. List pages walk it descending, the
+ * delta sync feed ascending. Clients only ever see the opaque, URL-safe string produced by
+ * {@link #encode()}.
+ */
+public record TaskCursor(LocalDateTime updatedAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TaskCursor of(TaskResponse task) {
+        return new TaskCursor(task.updatedAt(), task.id());
+    }
+
+    public String encode() {
+        String raw = updatedAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            return new TaskCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
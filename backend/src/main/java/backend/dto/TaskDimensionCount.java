@@ -0,0 +1,11 @@
+package backend.dto;
+
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+
+// One row of the (status, priority, assignee) GROUP BY used to seed the dashboard counters.
+public record TaskDimensionCount(
+        TaskStatus status,
+        TaskPriority priority,
+        Long assigneeId,
+        Long count) {}
@@ -0,0 +1,19 @@
+package backend.dto;
+
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+
+/**
+ * The filterable attributes of a task, captured before a change so listeners can tell
+ * when a task leaves a filtered view.
+ */
+public record TaskDimensions(
+        TaskStatus status,
+        TaskPriority priority,
+        Long assigneeId) {
+
+    public static TaskDimensions of(TaskResponse task) {
+        return new TaskDimensions(task.status(), task.priority(),
+                task.assignee() == null ? null : task.assignee().id());
+    }
+}
@@ -0,0 +1,20 @@
+package backend.dto;
+
+import backend.enums.TaskEventType;
+
+/**
+ * Published by the task service after every committed change. {@code task} is the new state
+ * (null for {@link TaskEventType#DELETED}); {@code previous} is the state before the change
+ * (null for {@link TaskEventType#CREATED}). {@code actorId} is the user who made the change.
+ */
+public record TaskEvent(
+        TaskEventType type,
+        Long taskId,
+        TaskResponse task,
+        TaskDimensions previous,
+        Long actorId) {
+
+    public TaskDimensions current() {
+        return task == null ? null : TaskDimensions.of(task);
+    }
+}
@@ -0,0 +1,12 @@
+package backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+// A row of the rejected-rows report. "row" is the line number for NDJSON and the record
+// number (header excluded) for CSV.
+@JsonPropertyOrder({"row", "error", "title", "assigneeEmail"})
+public record TaskImportRejection(
+        long row,
+        String error,
+        String title,
+        String assigneeEmail) {}
@@ -0,0 +1,17 @@
+package backend.dto;
+
+import backend.enums.ImportFormat;
+import backend.enums.ImportState;
+
+import java.time.LocalDateTime;
+
+public record TaskImportResponse(
+        String id,
+        ImportFormat format,
+        ImportState state,
+        long processed,
+        long imported,
+        long rejected,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error) {}
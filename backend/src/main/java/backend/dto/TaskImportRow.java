@@ -0,0 +1,13 @@
+package backend.dto;
+
+/**
+ * One task as it appears in an import file. Everything is read as text so that a bad value
+ * rejects its own row instead of aborting the parse; {@code assigneeEmail} is resolved to a
+ * user id during the import.
+ */
+public record TaskImportRow(
+        String title,
+        String description,
+        String status,
+        String priority,
+        String assigneeEmail) {}
@@ -0,0 +1,11 @@
+package backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap fingerprint of a filtered task list: any create, update or delete inside the
+ * filter changes either the row count or the newest update time.
+ */
+public record TaskListVersion(
+        long count,
+        LocalDateTime lastUpdatedAt) {}
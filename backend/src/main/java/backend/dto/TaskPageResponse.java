@@ -0,0 +1,7 @@
+package backend.dto;
+
+import java.util.List;
+
+public record TaskPageResponse(
+        List<TaskResponse> items,
+        String nextCursor) {}
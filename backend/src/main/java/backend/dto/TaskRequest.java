@@ -2,9 +2,11 @@ package backend.dto;
 
 import backend.enums.TaskPriority;
 import backend.enums.TaskStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 public record TaskRequest(
-        String title,
+        @NotBlank @Size(max = 255) String title,
         String description,
         TaskStatus status,
         TaskPriority priority,
@@ -19,5 +19,7 @@ public record TaskResponse(
         LocalDateTime createdAt,
 
         @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+
+        Long version
 ) {}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package backend.dto;
+
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model filled by a single joined JPQL constructor expression in
+ * {@link backend.repository.TaskRepository}. JPQL cannot nest constructors, so the
+ * assignee and creator columns are carried flat and folded into {@link TaskResponse} here.
+ */
+public record TaskRow(
+        Long id,
+        String title,
+        String description,
+        TaskStatus status,
+        TaskPriority priority,
+        Long assigneeId,
+        String assigneeUsername,
+        String assigneeEmail,
+        Long creatorId,
+        String creatorUsername,
+        String creatorEmail,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version) {
+
+    public TaskDimensions dimensions() {
+        return new TaskDimensions(status, priority, assigneeId);
+    }
+
+    // The row as it reads after a conditional write pinned to this row's version succeeded.
+
+    public TaskRow withStatus(TaskStatus newStatus, LocalDateTime at) {
+        return new TaskRow(id, title, description, newStatus, priority, assigneeId, assigneeUsername, assigneeEmail,
+                creatorId, creatorUsername, creatorEmail, createdAt, at, version + 1);
+    }
+
+    public TaskRow withDetails(String newTitle, String newDescription, TaskPriority newPriority,
+                               Long newAssigneeId, String newAssigneeUsername, String newAssigneeEmail,
+                               LocalDateTime at) {
+        return new TaskRow(id, newTitle, newDescription, status, newPriority, newAssigneeId, newAssigneeUsername,
+                newAssigneeEmail, creatorId, creatorUsername, creatorEmail, createdAt, at, version + 1);
+    }
+
+    public TaskResponse toResponse() {
+        return new TaskResponse(
+                id,
+                title,
+                description,
+                status,
+                priority,
+                assigneeId == null ? null : new UserSimpleResponse(assigneeId, assigneeUsername, assigneeEmail),
+                new UserSimpleResponse(creatorId, creatorUsername, creatorEmail),
+                createdAt,
+                updatedAt,
+                version
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package backend.dto;
+
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record TaskStatsResponse(
+        long total,
+        Map<TaskStatus, Long> byStatus,
+        Map<TaskPriority, Long> byPriority,
+        Map<Long, Long> byAssignee,
+        long unassigned,
+        LocalDateTime reconciledAt) {}
@@ -0,0 +1,11 @@
+package backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Outcome for one entry of a bulk provisioning request, addressed by its position.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserProvisioningItemResult(
+        int index,
+        int status,
+        String email,
+        String error) {}
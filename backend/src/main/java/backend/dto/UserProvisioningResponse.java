@@ -0,0 +1,19 @@
+package backend.dto;
+
+import backend.enums.ImportState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Progress of a bulk provisioning run; "failures" lists only the entries that were not created.
+public record UserProvisioningResponse(
+        String id,
+        ImportState state,
+        int total,
+        long processed,
+        long created,
+        long rejected,
+        List<UserProvisioningItemResult> failures,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error) {}
@@ -0,0 +1,36 @@
+package backend.enums;
+
+import backend.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+    // One JSON object per line; consumers can process rows as they arrive.
+    NDJSON("application/x-ndjson", "ndjson"),
+    // A single JSON array, for clients that expect one document.
+    JSON(MediaType.APPLICATION_JSON_VALUE, "json");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported export format: " + value + " (expected ndjson or json)");
+    }
+}
@@ -0,0 +1,37 @@
+package backend.enums;
+
+import backend.exception.BadRequestException;
+
+public enum ImportFormat {
+    // Header row naming the columns, then one task per record.
+    CSV("csv"),
+    // One JSON object per line.
+    NDJSON("ndjson");
+
+    private final String extension;
+
+    ImportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // An explicit format wins; otherwise the uploaded file name decides.
+    public static ImportFormat from(String format, String filename) {
+        String value = format;
+        if (value == null && filename != null && filename.lastIndexOf('.') >= 0) {
+            value = filename.substring(filename.lastIndexOf('.') + 1);
+        }
+        if ("jsonl".equalsIgnoreCase(value)) {
+            return NDJSON;
+        }
+        for (ImportFormat importFormat : values()) {
+            if (importFormat.extension.equalsIgnoreCase(value)) {
+                return importFormat;
+            }
+        }
+        throw new BadRequestException("Unsupported import format: " + value + " (expected csv or ndjson)");
+    }
+}
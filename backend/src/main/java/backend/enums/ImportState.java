@@ -0,0 +1,7 @@
+package backend.enums;
+
+public enum ImportState {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package backend.enums;
+
+public enum NotificationType {
+    TASK_ASSIGNED,
+    TASK_STATUS_CHANGED
+}
@@ -0,0 +1,7 @@
+package backend.enums;
+
+public enum OutboxState {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package backend.enums;
+
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+}
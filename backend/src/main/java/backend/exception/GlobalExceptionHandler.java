@@ -6,6 +6,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -29,6 +30,48 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 webRequest.getDescription(false));
         return new ResponseEntity<>(errorDetailsDto, HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorDetailsDto> handleBadRequestException(BadRequestException exception,
+                                                                     WebRequest webRequest){
+        ErrorDetailsDto errorDetailsDto = new ErrorDetailsDto(new Date(), exception.getMessage(),
+                webRequest.getDescription(false));
+        return new ResponseEntity<>(errorDetailsDto, HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorDetailsDto> handlePreconditionFailedException(PreconditionFailedException exception,
+                                                                             WebRequest webRequest){
+        ErrorDetailsDto errorDetailsDto = new ErrorDetailsDto(new Date(), exception.getMessage(),
+                webRequest.getDescription(false));
+        return new ResponseEntity<>(errorDetailsDto, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(GoneException.class)
+    public ResponseEntity<ErrorDetailsDto> handleGoneException(GoneException exception,
+                                                               WebRequest webRequest){
+        ErrorDetailsDto errorDetailsDto = new ErrorDetailsDto(new Date(), exception.getMessage(),
+                webRequest.getDescription(false));
+        return new ResponseEntity<>(errorDetailsDto, HttpStatus.GONE);
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorDetailsDto> handleConflictException(ConflictException exception,
+                                                                   WebRequest webRequest){
+        ErrorDetailsDto errorDetailsDto = new ErrorDetailsDto(new Date(), exception.getMessage(),
+                webRequest.getDescription(false));
+        return new ResponseEntity<>(errorDetailsDto, HttpStatus.CONFLICT);
+    }
+
+    // a concurrent edit won the race on a versioned entity (e.g. inside a batch update)
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDetailsDto> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException exception,
+                                                                          WebRequest webRequest){
+        ErrorDetailsDto errorDetailsDto = new ErrorDetailsDto(new Date(),
+                "The resource was modified concurrently, reload it and retry",
+                webRequest.getDescription(false));
+        return new ResponseEntity<>(errorDetailsDto, HttpStatus.CONFLICT);
+    }
+
     // global exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDetailsDto> handleGlobalException(Exception exception,
@@ -0,0 +1,61 @@
+package backend.model;
+
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Cold storage for DONE tasks that have not changed for app.tasks.archive.after, moved here by
+// TaskArchiveServiceImpl so the tasks table and its indexes only hold live work. Rows keep their
+// task id and columns, and are only read (?includeArchived=true), never updated.
+@Entity
+@Table(name = "tasks_archive", indexes = {
+        @Index(name = "idx_tasks_archive_assignee_updated", columnList = "assignee_id, updated_at, id"),
+        @Index(name = "idx_tasks_archive_updated", columnList = "updated_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    @Column(name = "title")
+    private String title;
+
+    @Column(name = "description")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority")
+    private TaskPriority priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private TaskStatus status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assignee_id")
+    private User assignee;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "creator_id", nullable = false)
+    private User creator;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // The task's version when it was archived; archived rows never change, so it is not @Version.
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,71 @@
+package backend.model;
+
+import backend.enums.NotificationType;
+import backend.enums.OutboxState;
+import backend.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A notification waiting to be emailed. Rows are written in the transaction of the task change
+// that caused them and sent later by EmailNotificationServiceImpl; the dispatcher reads
+// idx_email_outbox_due as an ordered range of due rows.
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_due", columnList = "state, next_attempt_at, id"),
+        @Index(name = "idx_email_outbox_created", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailOutbox {
+
+    // Pooled sequence so the rows of a batch task update are inserted as JDBC batches.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+    @SequenceGenerator(name = "email_outbox_seq", sequenceName = "email_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    @Column(name = "recipient_name")
+    private String recipientName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 32)
+    private NotificationType type;
+
+    // No foreign key: the notification outlives a deleted task.
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "task_title")
+    private String taskTitle;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "task_status", length = 32)
+    private TaskStatus taskStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 16)
+    private OutboxState state;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
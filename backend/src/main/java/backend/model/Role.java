@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.NaturalId;
 
 @Data
@@ -12,8 +14,11 @@ import org.hibernate.annotations.NaturalId;
 @AllArgsConstructor
 @Entity
 @Table(name = "roles")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = Role.CACHE_REGION)
 public class Role {
 
+    public static final String CACHE_REGION = "roles";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -5,11 +5,19 @@ import backend.enums.TaskStatus;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
+// Indexes mirror the TaskRepository query shapes: an equality prefix on the filter columns
+// followed by (updated_at, id) so keyset pages are an ordered index range.
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_status_assignee_updated", columnList = "status, assignee_id, updated_at, id"),
+        @Index(name = "idx_tasks_status_updated", columnList = "status, updated_at, id"),
+        @Index(name = "idx_tasks_assignee_updated", columnList = "assignee_id, updated_at, id"),
+        @Index(name = "idx_tasks_updated", columnList = "updated_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,8 +25,13 @@ import java.time.LocalDateTime;
 @Builder
 public class Task {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence (table-backed on MySQL) instead of IDENTITY so Hibernate can batch inserts.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq",
+            allocationSize = Task.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "title")
@@ -48,4 +61,10 @@ public class Task {
     @Column(name = "updated_at")
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime updatedAt;
+
+    // Optimistic concurrency: bumped on every write, exposed to clients as the ETag.
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
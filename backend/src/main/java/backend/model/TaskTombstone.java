@@ -0,0 +1,52 @@
+package backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+// Left behind by a task delete so delta sync clients learn about it. Rows are purged once they
+// are older than app.tasks.changes.tombstone-retention.
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_deleted", columnList = "deleted_at, task_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTombstone implements Persistable<Long> {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // The id is assigned, so tell Spring Data to persist rather than merge (no SELECT first).
+    @Transient
+    private boolean isNew = true;
+
+    public TaskTombstone(Long taskId, LocalDateTime deletedAt) {
+        this.taskId = taskId;
+        this.deletedAt = deletedAt;
+    }
+
+    @Override
+    public Long getId() {
+        return taskId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,86 @@
+package backend.repository;
+
+import backend.dto.TaskDimensionCount;
+import backend.dto.TaskListVersion;
+import backend.dto.TaskRow;
+import backend.model.ArchivedTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read side of tasks_archive, shaped like the matching {@link TaskRepository} queries so results
+ * from both tables can be merged. Every archived task is DONE, so there are no status variants.
+ */
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    String SELECT_ROW = TaskRepository.ROW + "FROM ArchivedTask t LEFT JOIN t.assignee a JOIN t.creator c ";
+
+    // Inner join for assignee filters, as in TaskRepository.SELECT_ASSIGNED_ROW.
+    String SELECT_ASSIGNED_ROW = TaskRepository.ROW + "FROM ArchivedTask t JOIN t.assignee a JOIN t.creator c ";
+
+    String SELECT_LIST_VERSION = "SELECT new backend.dto.TaskListVersion(COUNT(t), MAX(t.updatedAt)) FROM ArchivedTask t ";
+
+    @Query("SELECT t.version FROM ArchivedTask t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(SELECT_LIST_VERSION)
+    TaskListVersion findListVersion();
+
+    @Query(SELECT_LIST_VERSION + "WHERE t.assignee.id = :assigneeId")
+    TaskListVersion findListVersionByAssignee(@Param("assigneeId") Long assigneeId);
+
+    @Query(SELECT_ROW + "WHERE t.id = :id")
+    Optional<TaskRow> findRowById(@Param("id") Long id);
+
+    @Query(SELECT_ROW)
+    List<TaskRow> findAllRows();
+
+    @Query(SELECT_ASSIGNED_ROW + "WHERE a.id = :assigneeId")
+    List<TaskRow> findRowsByAssignee(@Param("assigneeId") Long assigneeId);
+
+    @Query(SELECT_ROW + TaskRepository.NEWEST_FIRST)
+    List<TaskRow> findFirstPage(Pageable pageable);
+
+    @Query(SELECT_ASSIGNED_ROW + "WHERE a.id = :assigneeId " + TaskRepository.NEWEST_FIRST)
+    List<TaskRow> findFirstPageByAssignee(@Param("assigneeId") Long assigneeId, Pageable pageable);
+
+    @Query(SELECT_ROW + "WHERE " + TaskRepository.AFTER_CURSOR + TaskRepository.NEWEST_FIRST)
+    List<TaskRow> findPageAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                @Param("id") Long id,
+                                Pageable pageable);
+
+    @Query(SELECT_ASSIGNED_ROW + "WHERE a.id = :assigneeId AND " + TaskRepository.AFTER_CURSOR
+            + TaskRepository.NEWEST_FIRST)
+    List<TaskRow> findPageByAssigneeAfter(@Param("assigneeId") Long assigneeId,
+                                          @Param("updatedAt") LocalDateTime updatedAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    @Query("SELECT new backend.dto.TaskDimensionCount(t.status, t.priority, a.id, COUNT(t)) " +
+            "FROM ArchivedTask t LEFT JOIN t.assignee a GROUP BY t.status, t.priority, a.id")
+    List<TaskDimensionCount> countByDimensions();
+
+    // Archiving, one batch per transaction (see TaskArchiveServiceImpl). The copy re-checks the
+    // candidate filter so a task reopened since it was picked stays where it is.
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO tasks_archive "
+            + "(id, title, description, priority, status, assignee_id, creator_id, created_at, updated_at, version, archived_at) "
+            + "SELECT id, title, description, priority, status, assignee_id, creator_id, created_at, updated_at, version, :archivedAt "
+            + "FROM tasks WHERE id IN (:ids) AND status = 'DONE' AND updated_at < :cutoff")
+    int copyFromTasks(@Param("ids") Collection<Long> ids,
+                      @Param("cutoff") LocalDateTime cutoff,
+                      @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Copies whose task changed after the copy (and so was not deleted from tasks) are dropped.
+    @Modifying
+    @Query("DELETE FROM ArchivedTask a WHERE a.id IN :ids AND EXISTS (SELECT 1 FROM Task t WHERE t.id = a.id)")
+    int deleteStillLive(@Param("ids") Collection<Long> ids);
+}
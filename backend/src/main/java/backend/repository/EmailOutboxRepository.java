@@ -0,0 +1,44 @@
+package backend.repository;
+
+import backend.model.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // Oldest first, served by idx_email_outbox_due.
+    @Query("SELECT e FROM EmailOutbox e "
+            + "WHERE e.state = backend.enums.OutboxState.PENDING AND e.nextAttemptAt <= :now "
+            + "ORDER BY e.nextAttemptAt ASC, e.id ASC")
+    List<EmailOutbox> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.state = backend.enums.OutboxState.SENT, e.sentAt = :sentAt, "
+            + "e.attempts = e.attempts + 1, e.lastError = NULL WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.attempts = e.attempts + 1, e.lastError = :error, "
+            + "e.nextAttemptAt = :nextAttemptAt WHERE e.id IN :ids")
+    int markAttemptFailed(@Param("ids") Collection<Long> ids,
+                          @Param("error") String error,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    // Run after markAttemptFailed: rows that have used up their attempts stop being retried.
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.state = backend.enums.OutboxState.FAILED "
+            + "WHERE e.id IN :ids AND e.attempts >= :maxAttempts")
+    int abandonExhausted(@Param("ids") Collection<Long> ids, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e "
+            + "WHERE e.state <> backend.enums.OutboxState.PENDING AND e.createdAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
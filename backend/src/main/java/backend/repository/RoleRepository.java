@@ -2,10 +2,15 @@ package backend.repository;
 
 import backend.enums.RoleName;
 import backend.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role,Long> {
+    // Served from the query cache; the Role entity itself comes from the "roles" region.
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(RoleName roleName);
 }
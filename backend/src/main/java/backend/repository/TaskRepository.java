@@ -1,14 +1,207 @@
 package backend.repository;
 
+import backend.dto.TaskDimensionCount;
+import backend.dto.TaskListVersion;
+import backend.dto.TaskRow;
+import backend.enums.TaskPriority;
 import backend.enums.TaskStatus;
 import backend.model.Task;
+import backend.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByStatusAndAssignee_Id(TaskStatus status, Long assigneeId);
-    List<Task> findByStatus(TaskStatus status);
-    List<Task> findByAssignee_Id(Long assigneeId);
 
+    // Read path: every query below builds TaskRow straight from one joined select, so listing
+    // N tasks never touches the lazy assignee/creator associations (or their eager Role).
+    String ROW = "SELECT new backend.dto.TaskRow(t.id, t.title, t.description, t.status, t.priority, " +
+            "a.id, a.username, a.email, c.id, c.username, c.email, t.createdAt, t.updatedAt, t.version) ";
+
+    String SELECT_ROW = ROW + "FROM Task t LEFT JOIN t.assignee a JOIN t.creator c ";
+
+    // Assignee filters join the assignee as an inner join and compare a.id. Behind the LEFT JOIN,
+    // "t.assignee.id = ?" becomes a filter on the joined users row after a full tasks scan; an
+    // inner join lets the planner start at the user and walk the (assignee_id, ...) indexes.
+    String SELECT_ASSIGNED_ROW = ROW + "FROM Task t JOIN t.assignee a JOIN t.creator c ";
+
+    // Keyset predicate for (updatedAt DESC, id DESC) paging. "updatedAt <= :updatedAt" keeps it
+    // a single index range; page N costs the same as page one.
+    String AFTER_CURSOR = "t.updatedAt <= :updatedAt AND (t.updatedAt < :updatedAt OR t.id < :id) ";
+
+    String NEWEST_FIRST = "ORDER BY t.updatedAt DESC, t.id DESC";
+
+    // Delta sync walks the same (updated_at, id) index the other way, bounded above by :until.
+    String CHANGED_AFTER = "t.updatedAt >= :updatedAt AND (t.updatedAt > :updatedAt OR t.id > :id) " +
+            "AND t.updatedAt <= :until ";
+
+    String OLDEST_FIRST = "ORDER BY t.updatedAt ASC, t.id ASC";
+
+    String EXPORT_FETCH_SIZE = "500";
+
+    // Single-statement conditional writes, pinned to the version the caller read: 0 rows updated
+    // means the task is gone or someone else changed it first.
+
+    @Modifying
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :updatedAt, t.version = t.version + 1 " +
+            "WHERE t.id = :id AND t.version = :version")
+    int updateStatusIfVersion(@Param("id") Long id,
+                              @Param("version") Long version,
+                              @Param("status") TaskStatus status,
+                              @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.title = :title, t.description = :description, t.priority = :priority, " +
+            "t.updatedAt = :updatedAt, t.version = t.version + 1 " +
+            "WHERE t.id = :id AND t.version = :version")
+    int updateDetailsIfVersion(@Param("id") Long id,
+                               @Param("version") Long version,
+                               @Param("title") String title,
+                               @Param("description") String description,
+                               @Param("priority") TaskPriority priority,
+                               @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.title = :title, t.description = :description, t.priority = :priority, " +
+            "t.assignee = :assignee, t.updatedAt = :updatedAt, t.version = t.version + 1 " +
+            "WHERE t.id = :id AND t.version = :version")
+    int updateDetailsAndAssigneeIfVersion(@Param("id") Long id,
+                                          @Param("version") Long version,
+                                          @Param("title") String title,
+                                          @Param("description") String description,
+                                          @Param("priority") TaskPriority priority,
+                                          @Param("assignee") User assignee,
+                                          @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Write path for batch updates: tasks with both users in one select, so building the
+    // per-item responses does not lazily load creators one by one.
+    @Query("SELECT t FROM Task t JOIN FETCH t.creator LEFT JOIN FETCH t.assignee WHERE t.id IN :ids")
+    List<Task> findAllWithUsersByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Version probes for conditional GETs: answered from the indexes, no entity or row loading.
+    String SELECT_LIST_VERSION = "SELECT new backend.dto.TaskListVersion(COUNT(t), MAX(t.updatedAt)) FROM Task t ";
+
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(SELECT_LIST_VERSION)
+    TaskListVersion findListVersion();
+
+    @Query(SELECT_LIST_VERSION + "WHERE t.status = :status")
+    TaskListVersion findListVersionByStatus(@Param("status") TaskStatus status);
+
+    @Query(SELECT_LIST_VERSION + "WHERE t.assignee.id = :assigneeId")
+    TaskListVersion findListVersionByAssignee(@Param("assigneeId") Long assigneeId);
+
+    @Query(SELECT_LIST_VERSION + "WHERE t.status = :status AND t.assignee.id = :assigneeId")
+    TaskListVersion findListVersionByStatusAndAssignee(@Param("status") TaskStatus status,
+                                                       @Param("assigneeId") Long assigneeId);
+
+    @Query(SELECT_ROW + "WHERE t.id = :id")
+    Optional<TaskRow> findRowById(@Param("id") Long id);
+
+    // Locking read for a write that lost its race; sees the latest committed row even under
+    // REPEATABLE READ.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(SELECT_ROW + "WHERE t.id = :id")
+    Optional<TaskRow> findRowByIdForUpdate(@Param("id") Long id);
+
+    @Query(SELECT_ROW)
+    List<TaskRow> findAllRows();
+
+    @Query(SELECT_ROW + "WHERE t.status = :status")
+    List<TaskRow> findRowsByStatus(@Param("status") TaskStatus status);
+
+    @Query(SELECT_ASSIGNED_ROW + "WHERE a.id = :assigneeId")
+    List<TaskRow> findRowsByAssignee(@Param("assigneeId") Long assigneeId);
+
+    @Query(SELECT_ASSIGNED_ROW + "WHERE t.status = :status AND a.id = :assigneeId")
+    List<TaskRow> findRowsByStatusAndAssignee(@Param("status") TaskStatus status,
+                                              @Param("assigneeId") Long assigneeId);
+
+    // Export: rows are read through a cursor FETCH_SIZE at a time and are not managed entities,
+    // so neither the JDBC driver nor the persistence context holds the whole result.
+    @Query(SELECT_ROW + "WHERE (:status IS NULL OR t.status = :status) " +
+            "AND (:assigneeId IS NULL OR a.id = :assigneeId) ORDER BY t.id")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TaskRow> streamRows(@Param("status") TaskStatus status, @Param("assigneeId") Long assigneeId);
+
+    @Query(SELECT_ROW + NEWEST_FIRST)
+    List<TaskRow> findFirstPage(Pageable pageable);
+
+    @Query(SELECT_ROW + "WHERE t.status = :status " + NEWEST_FIRST)
+    List<TaskRow> findFirstPageByStatus(@Param("status") TaskStatus status, Pageable pageable);
+
+    @Query(SELECT_ASSIGNED_ROW + "WHERE a.id = :assigneeId " + NEWEST_FIRST)
+    List<TaskRow> findFirstPageByAssignee(@Param("assigneeId") Long assigneeId, Pageable pageable);
+
+    @Query(SELECT_ASSIGNED_ROW + "WHERE t.status = :status AND a.id = :assigneeId " + NEWEST_FIRST)
+    List<TaskRow> findFirstPageByStatusAndAssignee(@Param("status") TaskStatus status,
+                                                   @Param("assigneeId") Long assigneeId,
+                                                   Pageable pageable);
+
+    @Query(SELECT_ROW + "WHERE " + AFTER_CURSOR + NEWEST_FIRST)
+    List<TaskRow> findPageAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                @Param("id") Long id,
+                                Pageable pageable);
+
+    @Query(SELECT_ROW + "WHERE t.status = :status AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<TaskRow> findPageByStatusAfter(@Param("status") TaskStatus status,
+                                        @Param("updatedAt") LocalDateTime updatedAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    @Query(SELECT_ASSIGNED_ROW + "WHERE a.id = :assigneeId AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<TaskRow> findPageByAssigneeAfter(@Param("assigneeId") Long assigneeId,
+                                          @Param("updatedAt") LocalDateTime updatedAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    @Query(SELECT_ASSIGNED_ROW + "WHERE t.status = :status AND a.id = :assigneeId AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<TaskRow> findPageByStatusAndAssigneeAfter(@Param("status") TaskStatus status,
+                                                   @Param("assigneeId") Long assigneeId,
+                                                   @Param("updatedAt") LocalDateTime updatedAt,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+
+    @Query(SELECT_ROW + "WHERE t.updatedAt <= :until " + OLDEST_FIRST)
+    List<TaskRow> findChangesUntil(@Param("until") LocalDateTime until, Pageable pageable);
+
+    @Query(SELECT_ROW + "WHERE " + CHANGED_AFTER + OLDEST_FIRST)
+    List<TaskRow> findChangesAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                   @Param("id") Long id,
+                                   @Param("until") LocalDateTime until,
+                                   Pageable pageable);
+
+    // Archive candidates, oldest first, straight off idx_tasks_status_updated.
+    @Query("SELECT t.id FROM Task t WHERE t.status = :status AND t.updatedAt < :cutoff " + OLDEST_FIRST)
+    List<Long> findIdsToArchive(@Param("status") TaskStatus status,
+                                @Param("cutoff") LocalDateTime cutoff,
+                                Pageable pageable);
+
+    // Deletes only tasks whose archived copy has the same version, i.e. unchanged since the copy.
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id IN :ids "
+            + "AND EXISTS (SELECT 1 FROM ArchivedTask a WHERE a.id = t.id AND a.version = t.version)")
+    int deleteArchived(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new backend.dto.TaskDimensionCount(t.status, t.priority, a.id, COUNT(t)) " +
+            "FROM Task t LEFT JOIN t.assignee a GROUP BY t.status, t.priority, a.id")
+    List<TaskDimensionCount> countByDimensions();
 }
@@ -0,0 +1,28 @@
+package backend.repository;
+
+import backend.model.TaskTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    // Same keyset shape as TaskRepository.findChangesAfter, served by idx_task_tombstones_deleted.
+    @Query("SELECT tt FROM TaskTombstone tt "
+            + "WHERE tt.deletedAt >= :deletedAt AND (tt.deletedAt > :deletedAt OR tt.taskId > :taskId) "
+            + "AND tt.deletedAt <= :until "
+            + "ORDER BY tt.deletedAt ASC, tt.taskId ASC")
+    List<TaskTombstone> findDeletedAfter(@Param("deletedAt") LocalDateTime deletedAt,
+                                         @Param("taskId") Long taskId,
+                                         @Param("until") LocalDateTime until,
+                                         Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM TaskTombstone tt WHERE tt.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,17 +1,26 @@
 package backend.repository;
 
+import backend.dto.UserSimpleResponse;
 import backend.enums.RoleName;
 import backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+// Bulk statements (deleteAllInBatch, @Modifying queries) bypass the entity callbacks that evict
+// cached principals; callers must follow them with UserPrincipalCacheEvictor.evictAll().
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>{
 
+    // Cached result is the user id; any write to users invalidates it via the update timestamps.
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
 
@@ -24,4 +33,14 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
 
     int countByRole_Name(RoleName roleName);
 
+    // Bulk provisioning checks a whole batch for taken emails and usernames in one select.
+    @Query("SELECT new backend.dto.UserSimpleResponse(u.id, u.username, u.email) FROM User u " +
+            "WHERE u.email IN :emails OR u.username IN :usernames")
+    List<UserSimpleResponse> findSimpleByEmailInOrUsernameIn(@Param("emails") Collection<String> emails,
+                                                             @Param("usernames") Collection<String> usernames);
+
+    // Task import resolves a chunk's assignee emails in one select.
+    @Query("SELECT new backend.dto.UserSimpleResponse(u.id, u.username, u.email) FROM User u WHERE u.email IN :emails")
+    List<UserSimpleResponse> findSimpleByEmailIn(@Param("emails") Collection<String> emails);
+
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package backend.security;
 import backend.exception.ResourceNotFoundException;
 import backend.model.User;
 import backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,11 +17,15 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     UserRepository userRepository;
 
+    /**
+     * Always reads the database (the primary, this being a read-write transaction); used for
+     * password authentication at login.
+     */
     @Override
     @Transactional
+    @Timed(value = "security.user.load", extraTags = {"lookup", "password"})
     public UserDetails loadUserByUsername(String email)
             throws UsernameNotFoundException {
-        System.out.println("this is the email:::::::::::::::::::::::::::::;"+email);
         if (!email.contains("@")) {
             throw new UsernameNotFoundException("This is not a valid email");
         }
@@ -42,4 +47,3 @@ public class CustomUserDetailsService implements UserDetailsService {
         return UserPrincipal.create(user);
     }
 }
-
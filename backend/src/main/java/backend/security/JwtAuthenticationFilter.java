@@ -1,14 +1,16 @@
 package backend.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -25,30 +27,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtTokenProvider jwtTokenProvider;
 
     @Autowired
-    ApplicationContext context;
-
-    @Autowired
-    private CustomUserDetailsService customUserDetailsService;
+    private UserPrincipalLoader userPrincipalLoader;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
         String authHeader = request.getHeader(("Authorization"));
-        String token = null;
-        String username = null;
+        Claims claims = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            username = jwtTokenProvider.extractUserName(token);
+            // Verified exactly once per request; everything below reads from these claims.
+            try {
+                claims = jwtTokenProvider.verify(authHeader.substring(7));
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.debug("Rejected bearer token: " + e.getMessage());
+            }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = context.getBean(CustomUserDetailsService.class).loadUserByUsername(username);
+            UserDetails userDetails = null;
+            try {
+                userDetails = userPrincipalLoader.loadPrincipalByEmail(claims.getSubject());
+            } catch (UsernameNotFoundException e) {
+                // Signed for a user who has since been deleted: the request stays anonymous.
+                logger.debug("Rejected bearer token: " + e.getMessage());
+            }
 
-            if (jwtTokenProvider.validateToken(token, userDetails)) {
+            if (userDetails != null && jwtTokenProvider.validateToken(claims, userDetails)) {
 
-                List<String> roles = jwtTokenProvider.getRolesFromJWT(token);
+                List<String> roles = jwtTokenProvider.getRoles(claims);
 
                 List<SimpleGrantedAuthority> authorities = roles.stream()
                         .map(SimpleGrantedAuthority::new)
@@ -62,4 +70,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,14 @@
 package backend.security;
 
 import backend.dto.CustomUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,6 +20,7 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -32,9 +38,27 @@ public class JwtTokenProvider {
     @Value("${app.jwt.refresh-token-validity}")
     private long refreshTokenValidity;
 
-    private SecretKey getKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
+    private SecretKey signingKey;
+
+    private JwtParser jwtParser;
+
+    // Tokens whose signature has already been checked, each evicted at its own "exp".
+    // Only successfully verified tokens are cached, keyed by the full compact token.
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .build();
     }
 
     private String generateToken(Authentication authentication, String username, long validity) {
@@ -53,7 +77,7 @@ public class JwtTokenProvider {
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + validity))
                 .and()
-                .signWith(getKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -65,9 +89,26 @@ public class JwtTokenProvider {
         return generateToken(authentication, username, refreshTokenValidity);
     }
 
+    /**
+     * Verifies the signature and expiry of the token once and returns its claims. Repeat calls
+     * with the same token are served from the verified-token cache until the token expires.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    @Timed(value = "security.jwt.verify", description = "JWT verification, including verified-cache hits")
+    public Claims verify(String token) {
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        verifiedTokens.put(token, claims);
+        return claims;
+    }
+
     @SuppressWarnings("unchecked")
     public CustomUser getUser(String token) throws Exception{
-        Claims claims = this.extractAllClaims(token);
+        Claims claims = verify(token);
 
         List<String> roles= (List<String>) claims.get("roles");
         Collection<SimpleGrantedAuthority> authorities = new ArrayList<>();
@@ -85,8 +126,13 @@ public class JwtTokenProvider {
     }
 
     public List<String> getRolesFromJWT(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("roles", List.class);
+        return getRoles(verify(token));
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> getRoles(Claims claims) {
+        List<String> roles = claims.get("roles", List.class);
+        return roles != null ? roles : Collections.emptyList();
     }
 
     public String extractUserName(String token) {
@@ -94,31 +140,42 @@ public class JwtTokenProvider {
     }
 
     private <T> T extractClaim(String token, Function<Claims, T> claimResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return claimResolver.apply(verify(token));
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(verify(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean validateToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 
-    private  Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isTokenExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
     }
 
-
+    private static class ExpireAtTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
-
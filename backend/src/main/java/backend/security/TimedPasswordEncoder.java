@@ -0,0 +1,55 @@
+package backend.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Times a delegate {@link PasswordEncoder} as {@code security.password.hash}, tagged with the
+ * operation and the BCrypt strength. The registry is looked up lazily because password
+ * encoders are created very early in startup.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final String strength;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, int strength, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.delegate = delegate;
+        this.strength = String.valueOf(strength);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        Timer timer = timer("encode");
+        return timer == null ? delegate.encode(rawPassword) : timer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Timer timer = timer("matches");
+        return timer == null
+                ? delegate.matches(rawPassword, encodedPassword)
+                : Boolean.TRUE.equals(timer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private Timer timer(String operation) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return null;
+        }
+        return Timer.builder("security.password.hash")
+                .description("Password hashing and verification")
+                .tag("operation", operation)
+                .tag("strength", strength)
+                .register(registry);
+    }
+}
@@ -0,0 +1,65 @@
+package backend.security;
+
+import backend.config.CacheConfig;
+import backend.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * JPA entity listener on {@link User}: any change to a user's role, password or account
+ * drops their cached {@link UserPrincipal}. The entry is evicted immediately and again after
+ * commit, so a request racing the transaction cannot re-cache the pre-update row.
+ * <p>
+ * Bulk JPQL/SQL statements on users or roles fire no entity callbacks; code that runs them
+ * must call {@link #evictAll()}.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserPrincipalCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    // PostPersist covers an email that is registered again after a bulk delete.
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        evict(user.getEmail());
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            evictNowAndAfterCommit(cache -> cache.evict(email));
+        }
+    }
+
+    public void evictAll() {
+        evictNowAndAfterCommit(Cache::clear);
+    }
+
+    private void evictNowAndAfterCommit(Consumer<Cache> eviction) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_PRINCIPALS);
+        if (cache == null) {
+            return;
+        }
+        eviction.accept(cache);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.accept(cache);
+                }
+            });
+        }
+    }
+}
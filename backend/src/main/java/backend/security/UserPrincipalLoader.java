@@ -0,0 +1,65 @@
+package backend.security;
+
+import backend.config.CacheConfig;
+import backend.config.ReadWriteRoutingDataSource;
+import backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Principal lookup for already-authenticated (JWT) requests, served from the
+ * {@link CacheConfig#USER_PRINCIPALS} cache. Entries are evicted by
+ * {@link UserPrincipalCacheEvictor} whenever a user row changes.
+ * <p>
+ * A bean of its own so every caller goes through the caching and timing proxies. Each read is
+ * its own read-only transaction: the first may be served by a replica, and a miss is confirmed
+ * on the primary in a second transaction, since one transaction keeps its first connection.
+ * That confirmation refreshes the query cache, which would otherwise hold the replica's
+ * empty result.
+ */
+@Service
+public class UserPrincipalLoader {
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnly;
+
+    public UserPrincipalLoader(UserRepository userRepository, EntityManager entityManager,
+                               PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.USER_PRINCIPALS, key = "#email")
+    @Timed(value = "security.user.load", extraTags = {"lookup", "token"})
+    public UserDetails loadPrincipalByEmail(String email) throws UsernameNotFoundException {
+        UserDetails principal = find(email, CacheMode.NORMAL);
+        if (principal == null) {
+            // A user created moments ago may not have reached the replica yet.
+            principal = ReadWriteRoutingDataSource.onPrimary(() -> find(email, CacheMode.REFRESH));
+        }
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found with username or email : " + email);
+        }
+        return principal;
+    }
+
+    private UserDetails find(String email, CacheMode cacheMode) {
+        return readOnly.execute(status -> {
+            entityManager.unwrap(Session.class).setCacheMode(cacheMode);
+            return userRepository.findByEmail(email)
+                    .map(UserPrincipal::create)
+                    .orElse(null);
+        });
+    }
+}
@@ -0,0 +1,6 @@
+package backend.service;
+
+public interface EmailNotificationService {
+    int dispatchPending();
+    void purgeFinished();
+}
@@ -0,0 +1,5 @@
+package backend.service;
+
+public interface TaskArchiveService {
+    int archiveCompletedTasks();
+}
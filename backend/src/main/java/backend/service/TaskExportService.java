@@ -0,0 +1,11 @@
+package backend.service;
+
+import backend.enums.ExportFormat;
+import backend.enums.TaskStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TaskExportService {
+    void exportTasks(TaskStatus status, Long assigneeId, ExportFormat format, OutputStream out) throws IOException;
+}
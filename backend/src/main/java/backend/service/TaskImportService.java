@@ -0,0 +1,12 @@
+package backend.service;
+
+import backend.dto.TaskImportResponse;
+import backend.security.UserPrincipal;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface TaskImportService {
+    TaskImportResponse startImport(MultipartFile file, String format, UserPrincipal currentUser);
+    TaskImportResponse getImport(String id, UserPrincipal currentUser);
+    Resource getRejectedRows(String id, UserPrincipal currentUser);
+}
@@ -1,6 +1,10 @@
 package backend.service;
 
 
+import backend.dto.TaskBatchResponse;
+import backend.dto.TaskBatchUpdateRequest;
+import backend.dto.TaskChangesResponse;
+import backend.dto.TaskPageResponse;
 import backend.dto.TaskRequest;
 import backend.dto.TaskResponse;
 import backend.enums.TaskStatus;
@@ -9,11 +13,17 @@ import backend.security.UserPrincipal;
 import java.util.List;
 
 public interface TaskService {
-    List<TaskResponse> getAllTasks(TaskStatus status, Long assigneeId);
-    TaskResponse getTaskById(Long id);
+    List<TaskResponse> getAllTasks(TaskStatus status, Long assigneeId, boolean includeArchived);
+    TaskPageResponse getTaskPage(TaskStatus status, Long assigneeId, int limit, String after, boolean includeArchived);
+    TaskChangesResponse getChanges(String since, Integer limit);
+    TaskResponse getTaskById(Long id, boolean includeArchived);
+    String getTaskETag(Long id, boolean includeArchived);
+    String getTaskListETag(TaskStatus status, Long assigneeId, Integer limit, String after, boolean includeArchived);
     TaskResponse createTask(TaskRequest request, UserPrincipal currentUser);
-    TaskResponse updateTask(Long id, TaskRequest request, UserPrincipal currentUser);
-    TaskResponse updateTaskStatus(Long id, TaskStatus status, UserPrincipal currentUser);
+    TaskResponse updateTask(Long id, TaskRequest request, Long expectedVersion, UserPrincipal currentUser);
+    TaskResponse updateTaskStatus(Long id, TaskStatus status, Long expectedVersion, UserPrincipal currentUser);
     void deleteTask(Long id, UserPrincipal currentUser);
+    TaskBatchResponse createTasks(List<TaskRequest> requests, UserPrincipal currentUser);
+    TaskBatchResponse updateTasks(List<TaskBatchUpdateRequest> requests, UserPrincipal currentUser);
 }
 
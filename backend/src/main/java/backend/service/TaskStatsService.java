@@ -0,0 +1,8 @@
+package backend.service;
+
+import backend.dto.TaskStatsResponse;
+
+public interface TaskStatsService {
+    TaskStatsResponse getStats();
+    void reconcile();
+}
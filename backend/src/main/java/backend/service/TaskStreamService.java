@@ -0,0 +1,8 @@
+package backend.service;
+
+import backend.enums.TaskStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface TaskStreamService {
+    SseEmitter subscribe(TaskStatus status, Long assigneeId);
+}
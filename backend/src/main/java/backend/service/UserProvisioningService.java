@@ -0,0 +1,11 @@
+package backend.service;
+
+import backend.dto.SignUpRequestDto;
+import backend.dto.UserProvisioningResponse;
+
+import java.util.List;
+
+public interface UserProvisioningService {
+    UserProvisioningResponse provision(List<SignUpRequestDto> requests);
+    UserProvisioningResponse getProvisioning(String id);
+}
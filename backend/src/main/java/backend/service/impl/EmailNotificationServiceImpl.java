@@ -0,0 +1,237 @@
+package backend.service.impl;
+
+import backend.config.AppProperties;
+import backend.config.ReadWriteRoutingDataSource;
+import backend.dto.TaskDimensions;
+import backend.dto.TaskEvent;
+import backend.dto.TaskResponse;
+import backend.dto.UserSimpleResponse;
+import backend.enums.NotificationType;
+import backend.enums.OutboxState;
+import backend.model.EmailOutbox;
+import backend.repository.EmailOutboxRepository;
+import backend.service.EmailNotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Email notifications for task assignments and status changes, through a transactional outbox.
+ * <p>
+ * A task change only inserts outbox rows, in its own transaction just before it commits, so the
+ * request never waits on SMTP and a rolled-back change never sends mail. A scheduled dispatcher
+ * drains due rows in batches, folds each recipient's rows into one digest, and sends the digests
+ * over a single SMTP connection. A digest that cannot be sent is retried every
+ * {@code app.email.retry.delay-hours} until {@code app.email.retry.max-attempts} is reached.
+ * People are not notified about their own changes.
+ * <p>
+ * Nothing is sent unless {@code spring.mail.host} is set; rows wait in the outbox until it is.
+ * The dispatcher assumes one running instance.
+ */
+@Slf4j
+@Service
+public class EmailNotificationServiceImpl implements EmailNotificationService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final ObjectProvider<JavaMailSender> mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties.Email properties;
+
+    public EmailNotificationServiceImpl(EmailOutboxRepository outboxRepository,
+                                        ObjectProvider<JavaMailSender> mailSender,
+                                        TransactionTemplate transactionTemplate,
+                                        AppProperties appProperties) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = appProperties.getEmail();
+    }
+
+    // BEFORE_COMMIT: the rows join the task change's transaction and commit (or roll back) with it.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        TaskResponse task = event.task();
+        if (task == null) {
+            return;
+        }
+        TaskDimensions previous = event.previous();
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> rows = new ArrayList<>(2);
+
+        UserSimpleResponse assignee = task.assignee();
+        boolean assigned = assignee != null
+                && (previous == null || !Objects.equals(previous.assigneeId(), assignee.id()));
+        if (assigned) {
+            addRow(rows, event, assignee, NotificationType.TASK_ASSIGNED, now);
+        }
+        if (previous != null && previous.status() != task.status()) {
+            // A new assignee already learns the status from the assignment notice.
+            if (!assigned) {
+                addRow(rows, event, assignee, NotificationType.TASK_STATUS_CHANGED, now);
+            }
+            if (task.creator() != null && (assignee == null || !task.creator().id().equals(assignee.id()))) {
+                addRow(rows, event, task.creator(), NotificationType.TASK_STATUS_CHANGED, now);
+            }
+        }
+        if (!rows.isEmpty()) {
+            outboxRepository.saveAll(rows);
+        }
+    }
+
+    private static void addRow(List<EmailOutbox> rows, TaskEvent event, UserSimpleResponse recipient,
+                               NotificationType type, LocalDateTime now) {
+        if (recipient == null || recipient.email() == null || recipient.id().equals(event.actorId())) {
+            return;
+        }
+        rows.add(EmailOutbox.builder()
+                .recipient(recipient.email())
+                .recipientName(recipient.username())
+                .type(type)
+                .taskId(event.taskId())
+                .taskTitle(event.task().title())
+                .taskStatus(event.task().status())
+                .state(OutboxState.PENDING)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${app.email.dispatch-interval:PT30S}",
+            fixedDelayString = "${app.email.dispatch-interval:PT30S}")
+    public int dispatchPending() {
+        JavaMailSender sender = mailSender.getIfAvailable();
+        if (sender == null) {
+            log.debug("spring.mail.host is not set; leaving email notifications in the outbox");
+            return 0;
+        }
+        // On the primary: a lagging replica could still show the previous run's rows as pending.
+        List<EmailOutbox> due = ReadWriteRoutingDataSource.onPrimary(() ->
+                outboxRepository.findDue(LocalDateTime.now(), PageRequest.ofSize(properties.getBatchSize())));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<EmailOutbox>> byRecipient = new LinkedHashMap<>();
+        for (EmailOutbox row : due) {
+            byRecipient.computeIfAbsent(row.getRecipient().toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(row);
+        }
+        List<SimpleMailMessage> digests = new ArrayList<>(byRecipient.size());
+        List<List<EmailOutbox>> digestRows = new ArrayList<>(byRecipient.size());
+        for (List<EmailOutbox> rows : byRecipient.values()) {
+            digests.add(toDigest(rows));
+            digestRows.add(rows);
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        MailException sendFailure = null;
+        try {
+            sender.send(digests.toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            sendFailure = e;
+        } catch (MailException e) {
+            sendFailure = e;
+        }
+
+        List<Long> sent = new ArrayList<>(due.size());
+        Map<String, List<Long>> failedByError = new LinkedHashMap<>();
+        int failedDigests = 0;
+        for (int i = 0; i < digests.size(); i++) {
+            List<Long> ids = digestRows.get(i).stream().map(EmailOutbox::getId).toList();
+            // Without per-message detail (e.g. the server was unreachable) every digest failed.
+            Exception failure = sendFailure == null ? null : failures.isEmpty() ? sendFailure : failures.get(digests.get(i));
+            if (failure == null) {
+                sent.addAll(ids);
+            } else {
+                failedByError.computeIfAbsent(describe(failure), key -> new ArrayList<>()).addAll(ids);
+                failedDigests++;
+            }
+        }
+        if (sendFailure != null) {
+            log.warn("{} of {} notification digests could not be sent: {}",
+                    failedDigests, digests.size(), sendFailure.getMessage());
+        }
+        record(sent, failedByError);
+        return digests.size();
+    }
+
+    private void record(List<Long> sent, Map<String, List<Long>> failedByError) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime retryAt = now.plusHours(properties.getRetry().getDelayHours());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!sent.isEmpty()) {
+                    outboxRepository.markSent(sent, now);
+                }
+                failedByError.forEach((error, ids) -> {
+                    outboxRepository.markAttemptFailed(ids, error, retryAt);
+                    outboxRepository.abandonExhausted(ids, properties.getRetry().getMaxAttempts());
+                });
+            });
+        } catch (DataAccessException | TransactionException e) {
+            // The digests went out but stay PENDING, so they will be sent again next run.
+            log.error("Could not record the outcome of {} sent and {} failed notifications",
+                    sent.size(), failedByError.values().stream().mapToInt(List::size).sum(), e);
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${app.email.purge-cron:0 45 3 * * *}")
+    @Transactional
+    public void purgeFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        int purged = outboxRepository.deleteFinishedBefore(cutoff);
+        log.debug("Purged {} sent or abandoned email notifications older than {}", purged, cutoff);
+    }
+
+    private SimpleMailMessage toDigest(List<EmailOutbox> rows) {
+        EmailOutbox first = rows.get(0);
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(properties.getFrom());
+        message.setTo(first.getRecipient());
+        message.setSubject(rows.size() == 1 ? describe(first) : rows.size() + " task updates");
+
+        StringBuilder text = new StringBuilder();
+        text.append("Hi ").append(first.getRecipientName() == null ? "there" : first.getRecipientName()).append(",\n\n");
+        for (EmailOutbox row : rows) {
+            text.append("- ").append(describe(row)).append('\n');
+        }
+        message.setText(text.toString());
+        return message;
+    }
+
+    private static String describe(EmailOutbox row) {
+        return switch (row.getType()) {
+            case TASK_ASSIGNED -> "Task '" + row.getTaskTitle() + "' was assigned to you (" + row.getTaskStatus() + ")";
+            case TASK_STATUS_CHANGED -> "Task '" + row.getTaskTitle() + "' moved to " + row.getTaskStatus();
+        };
+    }
+
+    private static String describe(Exception failure) {
+        String message = failure.getMessage() == null ? failure.getClass().getSimpleName() : failure.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,89 @@
+package backend.service.impl;
+
+import backend.config.AppProperties;
+import backend.enums.TaskStatus;
+import backend.repository.ArchivedTaskRepository;
+import backend.repository.TaskRepository;
+import backend.service.TaskArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves DONE tasks that have not changed for {@code app.tasks.archive.after} from tasks to
+ * tasks_archive, keeping the hot table (and every index the list queries walk) small.
+ * <p>
+ * Each batch is one short transaction: copy the batch, delete the copied tasks, and drop the
+ * copy of any task that changed in the meantime, so a concurrent edit is never lost and no
+ * lock is held for longer than one batch. Runs pause between batches and stop after
+ * {@code max-batches-per-run}; a backlog is worked off over several runs. Archived tasks keep
+ * their ids, are read-only, and stay visible through {@code ?includeArchived=true} and in the
+ * dashboard counts. Archiving publishes no task events: nothing about the task changes.
+ */
+@Slf4j
+@Service
+public class TaskArchiveServiceImpl implements TaskArchiveService {
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties.Archive properties;
+
+    public TaskArchiveServiceImpl(TaskRepository taskRepository,
+                                  ArchivedTaskRepository archivedTaskRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  AppProperties appProperties) {
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = appProperties.getTasks().getArchive();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.tasks.archive.interval:PT1H}",
+            initialDelayString = "${app.tasks.archive.interval:PT1H}")
+    public int archiveCompletedTasks() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getAfter());
+        int archived = 0;
+        try {
+            for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+                if (batch > 0) {
+                    Thread.sleep(properties.getPause());
+                }
+                Integer moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+                if (moved == null || moved < 0) {
+                    break;
+                }
+                archived += moved;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Task archiving stopped after {} tasks", archived, e);
+        }
+        if (archived > 0) {
+            log.info("Archived {} tasks completed before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    // Tasks moved, or -1 once there are no candidates left.
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = taskRepository.findIdsToArchive(TaskStatus.DONE, cutoff,
+                PageRequest.ofSize(properties.getBatchSize()));
+        if (ids.isEmpty()) {
+            return -1;
+        }
+        archivedTaskRepository.copyFromTasks(ids, cutoff, LocalDateTime.now());
+        int moved = taskRepository.deleteArchived(ids);
+        archivedTaskRepository.deleteStillLive(ids);
+        return moved;
+    }
+}
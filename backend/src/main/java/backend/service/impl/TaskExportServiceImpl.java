@@ -0,0 +1,68 @@
+package backend.service.impl;
+
+import backend.dto.TaskRow;
+import backend.enums.ExportFormat;
+import backend.enums.TaskStatus;
+import backend.repository.TaskRepository;
+import backend.service.TaskExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes every matching task to an output stream as it is read.
+ * <p>
+ * Rows come from a forward-only cursor over {@link TaskRow} projections and each one is
+ * serialized straight into a single {@link JsonGenerator}, so memory use depends on the fetch
+ * size and the generator buffer, not on how many tasks are exported. The generator flushes to
+ * the response whenever its buffer fills rather than after each row.
+ */
+@Service
+public class TaskExportServiceImpl implements TaskExportService {
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public TaskExportServiceImpl(TaskRepository taskRepository, ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // Runs on the async request thread; the transaction keeps the connection (and cursor) open
+    // until the last row is written.
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(TaskStatus status, Long assigneeId, ExportFormat format, OutputStream out)
+            throws IOException {
+        try (Stream<TaskRow> rows = taskRepository.streamRows(status, assigneeId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The servlet container owns the response stream.
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // NDJSON rows end with a newline instead of Jackson's default space between root values.
+            generator.setRootValueSeparator(null);
+            if (format == ExportFormat.JSON) {
+                generator.writeStartArray();
+            }
+            Iterator<TaskRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.writeValue(generator, iterator.next().toResponse());
+                if (format == ExportFormat.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+            }
+            if (format == ExportFormat.JSON) {
+                generator.writeEndArray();
+            }
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package backend.service.impl;
+
+import backend.config.AppProperties;
+import backend.dto.TaskImportRejection;
+import backend.dto.TaskImportResponse;
+import backend.dto.TaskImportRow;
+import backend.dto.TaskRequest;
+import backend.dto.UserSimpleResponse;
+import backend.enums.ImportFormat;
+import backend.enums.ImportState;
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.exception.BadRequestException;
+import backend.exception.ConflictException;
+import backend.exception.ResourceNotFoundException;
+import backend.model.Task;
+import backend.model.User;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import backend.service.TaskImportService;
+import backend.service.TaskStatsService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk task import from CSV or NDJSON files.
+ * <p>
+ * The upload is moved to a temporary file and the request returns at once with an import id.
+ * A virtual thread then reads the file one row at a time and works through it in chunks: each
+ * chunk resolves its new assignee emails with one select, validates its rows as
+ * {@link TaskRequest}s and inserts the valid ones in its own transaction, so the inserts go
+ * out as JDBC batches and a failure costs at most one chunk. Emails are cached for the rest of
+ * the import. Rows that fail go to a rejected-rows CSV report that can be downloaded once the
+ * import has finished.
+ * <p>
+ * Imported tasks are not published as task events one by one; the dashboard counters are
+ * reconciled when the import ends, and delta sync sees the rows through their updatedAt.
+ */
+@Slf4j
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+
+    private static final CsvSchema REPORT_SCHEMA = CsvSchema.builder()
+            .addColumn("row", CsvSchema.ColumnType.NUMBER)
+            .addColumn("error")
+            .addColumn("title")
+            .addColumn("assigneeEmail")
+            .setUseHeader(true)
+            .build();
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TaskStatsService taskStatsService;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final AppProperties.Imports properties;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final ObjectWriter reportWriter;
+    private final Semaphore permits;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public TaskImportServiceImpl(TaskRepository taskRepository,
+                                 UserRepository userRepository,
+                                 TaskStatsService taskStatsService,
+                                 TransactionTemplate transactionTemplate,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 AppProperties appProperties) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.taskStatsService = taskStatsService;
+        // Chunks stamp updatedAt, so they get the same bound as every other task write.
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+        this.transactionTemplate.setTimeout(appProperties.getTasks().getChanges().getWriteTimeoutSeconds());
+        this.validator = validator;
+        this.properties = appProperties.getTasks().getImports();
+        this.permits = new Semaphore(properties.getMaxConcurrent());
+
+        this.ndjsonReader = objectMapper.readerFor(TaskImportRow.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        CsvMapper csvMapper = CsvMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .build();
+        this.csvReader = csvMapper.readerFor(TaskImportRow.class).with(CsvSchema.emptySchema().withHeader());
+        this.reportWriter = csvMapper.writerFor(TaskImportRejection.class).with(REPORT_SCHEMA);
+    }
+
+    @Override
+    public TaskImportResponse startImport(MultipartFile file, String format, UserPrincipal currentUser) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Import file is empty");
+        }
+        ImportFormat importFormat = ImportFormat.from(format, file.getOriginalFilename());
+        if (!permits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many task imports running");
+        }
+
+        Path source = null;
+        ImportJob job = null;
+        try {
+            source = Files.createTempFile("task-import-", "." + importFormat.getExtension());
+            // Streams the spooled part to our own file, which outlives the request.
+            file.transferTo(source);
+            job = new ImportJob(UUID.randomUUID().toString(), currentUser.getId(), importFormat, source,
+                    Files.createTempFile("task-import-rejected-", ".csv"));
+            jobs.put(job.id, job);
+            ImportJob started = job;
+            Thread.ofVirtual()
+                    .name("task-import-" + job.id)
+                    .start(() -> run(started));
+            return job.toResponse();
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            if (source != null) {
+                deleteQuietly(source);
+            }
+            if (job != null) {
+                jobs.remove(job.id);
+                deleteQuietly(job.report);
+            }
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not start task import", e);
+        }
+    }
+
+    @Override
+    public TaskImportResponse getImport(String id, UserPrincipal currentUser) {
+        return findJob(id, currentUser).toResponse();
+    }
+
+    @Override
+    public Resource getRejectedRows(String id, UserPrincipal currentUser) {
+        ImportJob job = findJob(id, currentUser);
+        if (job.state == ImportState.RUNNING) {
+            throw new ConflictException("Import " + id + " is still running");
+        }
+        return new FileSystemResource(job.report);
+    }
+
+    // Drops finished imports past their retention together with their reports.
+    @Scheduled(fixedDelayString = "${app.tasks.imports.purge-interval:PT1H}")
+    public void purgeFinishedImports() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        jobs.values().removeIf(job -> {
+            if (job.state == ImportState.RUNNING || job.finishedAt.isAfter(cutoff)) {
+                return false;
+            }
+            deleteQuietly(job.report);
+            return true;
+        });
+    }
+
+    private ImportJob findJob(String id, UserPrincipal currentUser) {
+        ImportJob job = jobs.get(id);
+        boolean admin = currentUser.getAuthorities().stream()
+                .anyMatch(authority -> RoleName.ADMIN.name().equals(authority.getAuthority()));
+        // Other users' imports are reported as missing rather than forbidden.
+        if (job == null || !(admin || job.ownerId.equals(currentUser.getId()))) {
+            throw new ResourceNotFoundException("Task import not found with id: " + id);
+        }
+        return job;
+    }
+
+    private void run(ImportJob job) {
+        // Per-import email -> user id cache; a null value records an email with no user.
+        Map<String, Long> assigneeIds = new HashMap<>();
+        ImportState outcome = ImportState.FAILED;
+        String failure = null;
+        try (RowSource rows = open(job);
+             SequenceWriter rejections = reportWriter.writeValues(job.report.toFile())) {
+            List<ParsedRow> chunk = new ArrayList<>(properties.getChunkSize());
+            ParsedRow row;
+            while ((row = rows.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == properties.getChunkSize()) {
+                    importChunk(job, chunk, assigneeIds, rejections);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk, assigneeIds, rejections);
+            }
+            outcome = ImportState.COMPLETED;
+        } catch (Exception e) {
+            log.warn("Task import {} failed after {} rows", job.id, job.processed.get(), e);
+            failure = e.getMessage();
+        } finally {
+            deleteQuietly(job.source);
+            if (job.imported.get() > 0) {
+                taskStatsService.reconcile();
+            }
+            // Only now is the report closed and complete.
+            job.finish(outcome, failure);
+            permits.release();
+        }
+    }
+
+    private void importChunk(ImportJob job, List<ParsedRow> chunk, Map<String, Long> assigneeIds,
+                             SequenceWriter rejections) throws IOException {
+        resolveAssignees(chunk, assigneeIds);
+
+        List<TaskRequest> accepted = new ArrayList<>(chunk.size());
+        List<ParsedRow> acceptedRows = new ArrayList<>(chunk.size());
+        for (ParsedRow row : chunk) {
+            String error = row.error;
+            TaskRequest request = null;
+            if (error == null) {
+                try {
+                    request = toRequest(row.values, assigneeIds);
+                    error = validate(request);
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error != null) {
+                reject(job, row, error, rejections);
+            } else {
+                accepted.add(request);
+                acceptedRows.add(row);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(job.ownerId, accepted));
+                job.imported.addAndGet(accepted.size());
+            } catch (DataAccessException | TransactionException e) {
+                String error = "Chunk rolled back: " + e.getMostSpecificCause().getMessage();
+                for (ParsedRow row : acceptedRows) {
+                    reject(job, row, error, rejections);
+                }
+            }
+        }
+        job.processed.addAndGet(chunk.size());
+    }
+
+    // Looks up only the emails this import has not seen yet, in one query for the chunk.
+    private void resolveAssignees(List<ParsedRow> chunk, Map<String, Long> assigneeIds) {
+        Set<String> emails = chunk.stream()
+                .filter(row -> row.values != null)
+                .map(row -> row.values.assigneeEmail())
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(email -> !email.isEmpty() && !assigneeIds.containsKey(email))
+                .collect(Collectors.toCollection(HashSet::new));
+        if (emails.isEmpty()) {
+            return;
+        }
+        Map<String, Long> found = userRepository.findSimpleByEmailIn(emails).stream()
+                .collect(Collectors.toMap(UserSimpleResponse::email, UserSimpleResponse::id));
+        for (String email : emails) {
+            assigneeIds.put(email, found.get(email));
+        }
+    }
+
+    private TaskRequest toRequest(TaskImportRow row, Map<String, Long> assigneeIds) {
+        Long assigneeId = null;
+        String email = row.assigneeEmail() == null ? null : row.assigneeEmail().trim();
+        if (email != null && !email.isEmpty()) {
+            assigneeId = assigneeIds.get(email);
+            if (assigneeId == null) {
+                throw new IllegalArgumentException("Unknown assignee: " + email);
+            }
+        }
+        return new TaskRequest(
+                row.title(),
+                row.description(),
+                parse(TaskStatus.class, row.status(), TaskStatus.TODO),
+                parse(TaskPriority.class, row.priority(), TaskPriority.MEDIUM),
+                assigneeId);
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, E defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + type.getSimpleName() + ": " + value);
+        }
+    }
+
+    private String validate(TaskRequest request) {
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.joining("; "));
+    }
+
+    // References are enough to bind the foreign keys; ids come from the pooled sequence, so the
+    // inserts are flushed as JDBC batches at commit.
+    private void insert(Long creatorId, List<TaskRequest> requests) {
+        User creator = userRepository.getReferenceById(creatorId);
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(requests.size());
+        for (TaskRequest request : requests) {
+            Task task = new Task();
+            task.setTitle(request.title());
+            task.setDescription(request.description());
+            task.setStatus(request.status());
+            task.setPriority(request.priority());
+            task.setCreator(creator);
+            if (request.assigneeId() != null) {
+                task.setAssignee(userRepository.getReferenceById(request.assigneeId()));
+            }
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    private void reject(ImportJob job, ParsedRow row, String error, SequenceWriter rejections) throws IOException {
+        rejections.write(new TaskImportRejection(row.number, error,
+                row.values == null ? null : row.values.title(),
+                row.values == null ? null : row.values.assigneeEmail()));
+        job.rejected.incrementAndGet();
+    }
+
+    private RowSource open(ImportJob job) throws IOException {
+        return job.format == ImportFormat.CSV ? csvRows(job.source) : ndjsonRows(job.source);
+    }
+
+    private RowSource csvRows(Path file) throws IOException {
+        MappingIterator<TaskImportRow> iterator = csvReader.readValues(file.toFile());
+        return new RowSource() {
+            private long number;
+
+            @Override
+            public ParsedRow next() throws IOException {
+                if (!iterator.hasNextValue()) {
+                    return null;
+                }
+                number++;
+                try {
+                    return new ParsedRow(number, iterator.nextValue(), null);
+                } catch (JsonProcessingException e) {
+                    // The iterator resynchronises on the next record.
+                    return new ParsedRow(number, null, e.getOriginalMessage());
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                iterator.close();
+            }
+        };
+    }
+
+    private RowSource ndjsonRows(Path file) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        return new RowSource() {
+            private long number;
+
+            @Override
+            public ParsedRow next() throws IOException {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    number++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        return new ParsedRow(number, ndjsonReader.readValue(line), null);
+                    } catch (JsonProcessingException e) {
+                        return new ParsedRow(number, null, e.getOriginalMessage());
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", path, e);
+        }
+    }
+
+    private interface RowSource extends Closeable {
+        // Returns null at the end of the file.
+        ParsedRow next() throws IOException;
+    }
+
+    private record ParsedRow(long number, TaskImportRow values, String error) {}
+
+    private static final class ImportJob {
+        final String id;
+        // The user who started the import; also the creator of every imported task.
+        final Long ownerId;
+        final ImportFormat format;
+        final Path source;
+        final Path report;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final AtomicLong processed = new AtomicLong();
+        final AtomicLong imported = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        volatile ImportState state = ImportState.RUNNING;
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+
+        ImportJob(String id, Long ownerId, ImportFormat format, Path source, Path report) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.format = format;
+            this.source = source;
+            this.report = report;
+        }
+
+        void finish(ImportState finalState, String failure) {
+            error = failure;
+            finishedAt = LocalDateTime.now();
+            state = finalState;
+        }
+
+        TaskImportResponse toResponse() {
+            return new TaskImportResponse(id, format, state, processed.get(), imported.get(), rejected.get(),
+                    startedAt, finishedAt, error);
+        }
+    }
+}
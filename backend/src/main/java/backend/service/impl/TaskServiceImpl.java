@@ -1,55 +1,344 @@
 package backend.service.impl;
 
+import backend.config.AppProperties;
+import backend.config.ReadWriteRoutingDataSource;
+import backend.dto.TaskBatchItemResult;
+import backend.dto.TaskBatchResponse;
+import backend.dto.TaskBatchUpdateRequest;
+import backend.dto.TaskChangesResponse;
+import backend.dto.TaskCursor;
+import backend.dto.TaskDimensions;
+import backend.dto.TaskEvent;
+import backend.dto.TaskListVersion;
+import backend.dto.TaskPageResponse;
 import backend.dto.TaskRequest;
 import backend.dto.TaskResponse;
+import backend.dto.TaskRow;
 import backend.dto.UserSimpleResponse;
+import backend.enums.TaskEventType;
 import backend.enums.TaskStatus;
+import backend.exception.BadRequestException;
+import backend.exception.GoneException;
+import backend.exception.PreconditionFailedException;
 import backend.exception.ResourceNotFoundException;
 import backend.model.Task;
+import backend.model.TaskTombstone;
 import backend.model.User;
+import backend.repository.ArchivedTaskRepository;
 import backend.repository.TaskRepository;
+import backend.repository.TaskTombstoneRepository;
 import backend.repository.UserRepository;
 import backend.security.UserPrincipal;
 import backend.service.TaskService;
+import backend.services.components.utils.ETags;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BATCH_SIZE = 5000;
+    // Bounds every transaction that stamps updatedAt or writes a tombstone, so it commits or
+    // rolls back before the change feed's settle-time horizon moves past its timestamps.
+    static final String WRITE_TIMEOUT = "${app.tasks.changes.write-timeout-seconds}";
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppProperties appProperties;
+    private final Validator validator;
 
     @Override
-    public List<TaskResponse> getAllTasks(TaskStatus status, Long assigneeId) {
-        List<Task> tasks;
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAllTasks(TaskStatus status, Long assigneeId, boolean includeArchived) {
+        List<TaskRow> rows;
 
         if (status != null && assigneeId != null) {
-            tasks = taskRepository.findByStatusAndAssignee_Id(status, assigneeId);
+            rows = taskRepository.findRowsByStatusAndAssignee(status, assigneeId);
         } else if (status != null) {
-            tasks = taskRepository.findByStatus(status);
+            rows = taskRepository.findRowsByStatus(status);
         } else if (assigneeId != null) {
-            tasks = taskRepository.findByAssignee_Id(assigneeId);
+            rows = taskRepository.findRowsByAssignee(assigneeId);
         } else {
-            tasks = taskRepository.findAll();
+            rows = taskRepository.findAllRows();
+        }
+        if (searchesArchive(includeArchived, status)) {
+            rows = new ArrayList<>(rows);
+            rows.addAll(assigneeId != null
+                    ? archivedTaskRepository.findRowsByAssignee(assigneeId)
+                    : archivedTaskRepository.findAllRows());
         }
 
-        return tasks.stream().map(this::mapToResponse).collect(Collectors.toList());
+        return rows.stream().map(TaskRow::toResponse).collect(Collectors.toList());
+    }
+
+    // The archive only holds DONE tasks, so any other status filter never needs it.
+    private static boolean searchesArchive(boolean includeArchived, TaskStatus status) {
+        return includeArchived && (status == null || status == TaskStatus.DONE);
     }
 
     @Override
-    public TaskResponse getTaskById(Long id) {
-        Task task = taskRepository.findById(id)
+    @Transactional(readOnly = true)
+    public TaskPageResponse getTaskPage(TaskStatus status, Long assigneeId, int limit, String after,
+                                        boolean includeArchived) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query.
+        Pageable pageable = PageRequest.ofSize(limit + 1);
+        TaskCursor cursor = after == null || after.isBlank() ? null : TaskCursor.decode(after);
+        List<TaskRow> rows = cursor == null
+                ? findFirstPage(status, assigneeId, pageable)
+                : findPageAfter(status, assigneeId, cursor, pageable);
+        if (searchesArchive(includeArchived, status)) {
+            // Both tables are read with the same keyset, so merging the two pages (each already
+            // newest first) yields the next page across both.
+            rows = mergeNewestFirst(rows, findArchivedPage(assigneeId, cursor, pageable), limit + 1);
+        }
+
+        List<TaskResponse> items = rows.stream()
+                .limit(limit)
+                .map(TaskRow::toResponse)
+                .collect(Collectors.toList());
+        String nextCursor = rows.size() > limit
+                ? TaskCursor.of(items.getLast()).encode()
+                : null;
+
+        return new TaskPageResponse(items, nextCursor);
+    }
+
+    private List<TaskRow> findArchivedPage(Long assigneeId, TaskCursor cursor, Pageable pageable) {
+        if (cursor == null) {
+            return assigneeId != null
+                    ? archivedTaskRepository.findFirstPageByAssignee(assigneeId, pageable)
+                    : archivedTaskRepository.findFirstPage(pageable);
+        }
+        return assigneeId != null
+                ? archivedTaskRepository.findPageByAssigneeAfter(assigneeId, cursor.updatedAt(), cursor.id(), pageable)
+                : archivedTaskRepository.findPageAfter(cursor.updatedAt(), cursor.id(), pageable);
+    }
+
+    private static List<TaskRow> mergeNewestFirst(List<TaskRow> hot, List<TaskRow> archived, int max) {
+        List<TaskRow> merged = new ArrayList<>(Math.min(max, hot.size() + archived.size()));
+        int h = 0;
+        int a = 0;
+        while (merged.size() < max && (h < hot.size() || a < archived.size())) {
+            boolean takeHot = a >= archived.size() || (h < hot.size() && isBefore(
+                    archived.get(a).updatedAt(), archived.get(a).id(), hot.get(h).updatedAt(), hot.get(h).id()));
+            merged.add(takeHot ? hot.get(h++) : archived.get(a++));
+        }
+        return merged;
+    }
+
+    private List<TaskRow> findFirstPage(TaskStatus status, Long assigneeId, Pageable pageable) {
+        if (status != null && assigneeId != null) {
+            return taskRepository.findFirstPageByStatusAndAssignee(status, assigneeId, pageable);
+        } else if (status != null) {
+            return taskRepository.findFirstPageByStatus(status, pageable);
+        } else if (assigneeId != null) {
+            return taskRepository.findFirstPageByAssignee(assigneeId, pageable);
+        }
+        return taskRepository.findFirstPage(pageable);
+    }
+
+    private List<TaskRow> findPageAfter(TaskStatus status, Long assigneeId, TaskCursor cursor, Pageable pageable) {
+        if (status != null && assigneeId != null) {
+            return taskRepository.findPageByStatusAndAssigneeAfter(status, assigneeId, cursor.updatedAt(), cursor.id(), pageable);
+        } else if (status != null) {
+            return taskRepository.findPageByStatusAfter(status, cursor.updatedAt(), cursor.id(), pageable);
+        } else if (assigneeId != null) {
+            return taskRepository.findPageByAssigneeAfter(assigneeId, cursor.updatedAt(), cursor.id(), pageable);
+        }
+        return taskRepository.findPageAfter(cursor.updatedAt(), cursor.id(), pageable);
+    }
+
+    @PostConstruct
+    void checkWriteTimeout() {
+        AppProperties.Changes settings = appProperties.getTasks().getChanges();
+        Duration writeTimeout = Duration.ofSeconds(settings.getWriteTimeoutSeconds());
+        if (writeTimeout.isNegative() || writeTimeout.isZero() || writeTimeout.compareTo(settings.getSettleTime()) >= 0) {
+            throw new IllegalStateException("app.tasks.changes.write-timeout-seconds (" + settings.getWriteTimeoutSeconds()
+                    + ") must be positive and below app.tasks.changes.settle-time (" + settings.getSettleTime()
+                    + "), or the change feed can skip late commits");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getChanges(String since, Integer limit) {
+        // On the primary: the settle-time horizon below assumes every commit older than it is
+        // already visible, which a lagging replica cannot promise.
+        return ReadWriteRoutingDataSource.onPrimary(() -> readChanges(since, limit));
+    }
+
+    private TaskChangesResponse readChanges(String since, Integer limit) {
+        AppProperties.Changes settings = appProperties.getTasks().getChanges();
+        int pageSize = limit == null ? settings.getMaxLimit() : limit;
+        if (pageSize < 1 || pageSize > settings.getMaxLimit()) {
+            throw new BadRequestException("limit must be between 1 and " + settings.getMaxLimit());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        // Writers stamp updatedAt before they commit, so only hand out changes old enough that
+        // nothing earlier can still become visible behind the returned cursor.
+        LocalDateTime until = now.minus(settings.getSettleTime());
+        Pageable pageable = PageRequest.ofSize(pageSize + 1);
+
+        TaskCursor cursor = since == null || since.isBlank() ? null : TaskCursor.decode(since);
+        List<TaskRow> rows;
+        List<TaskTombstone> tombstones;
+        if (cursor == null) {
+            // Initial sync: the client holds nothing yet, so there is nothing to delete.
+            rows = taskRepository.findChangesUntil(until, pageable);
+            tombstones = List.of();
+        } else {
+            if (cursor.updatedAt().isBefore(now.minus(settings.getTombstoneRetention()))) {
+                throw new GoneException("Change cursor is older than the retained delete history, reload all tasks");
+            }
+            rows = taskRepository.findChangesAfter(cursor.updatedAt(), cursor.id(), until, pageable);
+            tombstones = tombstoneRepository.findDeletedAfter(cursor.updatedAt(), cursor.id(), until, pageable);
+        }
+
+        // Merge the two (timestamp, id) ordered streams and keep the first pageSize entries.
+        List<TaskResponse> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        TaskCursor last = null;
+        int r = 0;
+        int d = 0;
+        while (changed.size() + deleted.size() < pageSize && (r < rows.size() || d < tombstones.size())) {
+            TaskRow row = r < rows.size() ? rows.get(r) : null;
+            TaskTombstone tombstone = d < tombstones.size() ? tombstones.get(d) : null;
+            if (tombstone == null || (row != null && isBefore(row.updatedAt(), row.id(),
+                    tombstone.getDeletedAt(), tombstone.getTaskId()))) {
+                changed.add(row.toResponse());
+                last = new TaskCursor(row.updatedAt(), row.id());
+                r++;
+            } else {
+                deleted.add(tombstone.getTaskId());
+                last = new TaskCursor(tombstone.getDeletedAt(), tombstone.getTaskId());
+                d++;
+            }
+        }
+
+        boolean hasMore = r < rows.size() || d < tombstones.size();
+        TaskCursor next;
+        if (hasMore) {
+            next = last;
+        } else if (cursor != null && cursor.updatedAt().isAfter(until)) {
+            next = cursor;
+        } else {
+            // Caught up: move the watermark to the settled horizon so idle clients never
+            // drift past the tombstone retention.
+            next = new TaskCursor(until, Long.MAX_VALUE);
+        }
+        return new TaskChangesResponse(changed, deleted, next.encode(), hasMore);
+    }
+
+    private static boolean isBefore(LocalDateTime at, Long id, LocalDateTime otherAt, Long otherId) {
+        int byTime = at.compareTo(otherAt);
+        return byTime < 0 || (byTime == 0 && id < otherId);
+    }
+
+    @Scheduled(cron = "${app.tasks.changes.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpiredTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(appProperties.getTasks().getChanges().getTombstoneRetention());
+        int purged = tombstoneRepository.deleteDeletedBefore(cutoff);
+        log.debug("Purged {} task tombstones older than {}", purged, cutoff);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Long id, boolean includeArchived) {
+        Optional<TaskRow> row = taskRepository.findRowById(id);
+        if (row.isEmpty() && includeArchived) {
+            row = archivedTaskRepository.findRowById(id);
+        }
+        return row.map(TaskRow::toResponse)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
-        return mapToResponse(task);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public String getTaskETag(Long id, boolean includeArchived) {
+        Optional<Long> version = taskRepository.findVersionById(id);
+        if (version.isEmpty() && includeArchived) {
+            version = archivedTaskRepository.findVersionById(id);
+        }
+        return ETags.of(id, version
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getTaskListETag(TaskStatus status, Long assigneeId, Integer limit, String after,
+                                  boolean includeArchived) {
+        TaskListVersion version;
+        if (status != null && assigneeId != null) {
+            version = taskRepository.findListVersionByStatusAndAssignee(status, assigneeId);
+        } else if (status != null) {
+            version = taskRepository.findListVersionByStatus(status);
+        } else if (assigneeId != null) {
+            version = taskRepository.findListVersionByAssignee(assigneeId);
+        } else {
+            version = taskRepository.findListVersion();
+        }
+
+        String fingerprint = status + "|" + assigneeId + "|" + limit + "|" + after + "|" + fingerprint(version);
+        if (searchesArchive(includeArchived, status)) {
+            TaskListVersion archived = assigneeId != null
+                    ? archivedTaskRepository.findListVersionByAssignee(assigneeId)
+                    : archivedTaskRepository.findListVersion();
+            fingerprint += "|archived|" + fingerprint(archived);
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(fingerprint.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static String fingerprint(TaskListVersion version) {
+        return version.count() + "|" + (version.lastUpdatedAt() == null ? "" : toMicros(version.lastUpdatedAt()));
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    @Override
+    @Transactional(timeoutString = WRITE_TIMEOUT)
     public TaskResponse createTask(TaskRequest request, UserPrincipal currentUser) {
         User creator = userRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Creator user not found"));
@@ -68,47 +357,286 @@ public class TaskServiceImpl implements TaskService {
             task.setAssignee(assignee);
         }
 
-        return mapToResponse(taskRepository.save(task));
+        TaskResponse response = mapToResponse(taskRepository.save(task));
+        publish(TaskEventType.CREATED, response, null, currentUser);
+        return response;
     }
 
     @Override
-    public TaskResponse updateTask(Long id, TaskRequest request, UserPrincipal currentUser) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+    @Transactional(timeoutString = WRITE_TIMEOUT)
+    public TaskResponse updateTask(Long id, TaskRequest request, Long expectedVersion, UserPrincipal currentUser) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (request.assigneeId() == null) {
+            return update(id, expectedVersion, TaskEventType.UPDATED, currentUser,
+                    row -> taskRepository.updateDetailsIfVersion(id, row.version(),
+                            request.title(), request.description(), request.priority(), now),
+                    row -> row.withDetails(request.title(), request.description(), request.priority(),
+                            row.assigneeId(), row.assigneeUsername(), row.assigneeEmail(), now));
+        }
+        // Users sit in the second-level cache, so this rarely costs a statement.
+        User assignee = userRepository.findById(request.assigneeId())
+                .orElseThrow(() -> new ResourceNotFoundException("Assignee not found"));
+        return update(id, expectedVersion, TaskEventType.UPDATED, currentUser,
+                row -> taskRepository.updateDetailsAndAssigneeIfVersion(id, row.version(),
+                        request.title(), request.description(), request.priority(), assignee, now),
+                row -> row.withDetails(request.title(), request.description(), request.priority(),
+                        assignee.getId(), assignee.getUsername(), assignee.getEmail(), now));
+    }
 
-        task.setTitle(request.title());
-        task.setDescription(request.description());
-        task.setPriority(request.priority());
-        task.setUpdatedAt(LocalDateTime.now());
+    @Override
+    @Transactional(timeoutString = WRITE_TIMEOUT)
+    public TaskResponse updateTaskStatus(Long id, TaskStatus status, Long expectedVersion, UserPrincipal currentUser) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        return update(id, expectedVersion, TaskEventType.STATUS_CHANGED, currentUser,
+                row -> taskRepository.updateStatusIfVersion(id, row.version(), status, now),
+                row -> row.withStatus(status, now));
+    }
 
-        if (request.assigneeId() != null) {
-            User assignee = userRepository.findById(request.assigneeId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Assignee not found"));
-            task.setAssignee(assignee);
+    // Two statements: one primary-key read gives the pre-change state for listeners and everything
+    // the response needs, and the write is pinned to the version that read saw, so the response is
+    // that row with the change applied instead of a read-back. A stale If-Match fails after the
+    // read alone. Without If-Match the last writer wins: losing the race between read and write
+    // re-reads the row under a lock and writes again.
+    private TaskResponse update(Long id, Long expectedVersion, TaskEventType type, UserPrincipal actor,
+                                ToIntFunction<TaskRow> write, UnaryOperator<TaskRow> change) {
+        TaskRow current = taskRepository.findRowById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(current.version())) {
+            throw modifiedBySomeoneElse(id);
+        }
+        if (write.applyAsInt(current) == 0) {
+            if (expectedVersion != null) {
+                throw notUpdated(id);
+            }
+            current = taskRepository.findRowByIdForUpdate(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+            write.applyAsInt(current);
         }
 
-        return mapToResponse(taskRepository.save(task));
+        TaskResponse response = change.apply(current).toResponse();
+        publish(type, response, current.dimensions(), actor);
+        return response;
     }
 
-    @Override
-    public TaskResponse updateTaskStatus(Long id, TaskStatus status, UserPrincipal currentUser) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+    // Listeners run after commit (see TaskStreamServiceImpl), never for a rolled-back change. The
+    // email outbox is the exception: it is written just before commit, in this same transaction.
+    private void publish(TaskEventType type, TaskResponse task, TaskDimensions previous, UserPrincipal actor) {
+        eventPublisher.publishEvent(new TaskEvent(type, task.id(), task, previous, actor.getId()));
+    }
 
-        task.setStatus(status);
-        task.setUpdatedAt(LocalDateTime.now());
+    // A pinned write that matched nothing: the task is gone (404) or someone else won (412).
+    private RuntimeException notUpdated(Long id) {
+        if (!taskRepository.existsById(id)) {
+            return new ResourceNotFoundException("Task not found with id: " + id);
+        }
+        return modifiedBySomeoneElse(id);
+    }
 
-        return mapToResponse(taskRepository.save(task));
+    private static PreconditionFailedException modifiedBySomeoneElse(Long id) {
+        return new PreconditionFailedException("Task " + id + " was modified by someone else, reload it and retry");
     }
 
     @Override
+    @Transactional(timeoutString = WRITE_TIMEOUT)
     public void deleteTask(Long id, UserPrincipal currentUser) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+        TaskDimensions previous = dimensionsOf(task);
         taskRepository.delete(task);
+        tombstoneRepository.save(new TaskTombstone(id, LocalDateTime.now()));
+        eventPublisher.publishEvent(new TaskEvent(TaskEventType.DELETED, id, null, previous, currentUser.getId()));
+    }
+
+    @Override
+    @Transactional(timeoutString = WRITE_TIMEOUT)
+    public TaskBatchResponse createTasks(List<TaskRequest> requests, UserPrincipal currentUser) {
+        validateBatchSize(requests);
+
+        Set<Long> userIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(TaskRequest::assigneeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+        userIds.add(currentUser.getId());
+        Map<Long, User> users = findUsersById(userIds);
+
+        User creator = users.get(currentUser.getId());
+        if (creator == null) {
+            throw new ResourceNotFoundException("Creator user not found");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskBatchItemResult> results = new ArrayList<>(requests.size());
+        List<Task> created = new ArrayList<>(requests.size());
+        List<Integer> createdIndexes = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest request = requests.get(i);
+            if (request == null) {
+                results.add(failed(i, HttpStatus.BAD_REQUEST, "Empty task"));
+                continue;
+            }
+            String violations = validate(request);
+            if (violations == null && request.status() == null) {
+                violations = "status must not be null";
+            }
+            if (violations != null) {
+                results.add(failed(i, HttpStatus.BAD_REQUEST, violations));
+                continue;
+            }
+            User assignee = null;
+            if (request.assigneeId() != null) {
+                assignee = users.get(request.assigneeId());
+                if (assignee == null) {
+                    results.add(failed(i, HttpStatus.NOT_FOUND, "Assignee not found"));
+                    continue;
+                }
+            }
+
+            Task task = new Task();
+            task.setTitle(request.title());
+            task.setDescription(request.description());
+            task.setPriority(request.priority());
+            task.setStatus(request.status());
+            task.setCreator(creator);
+            task.setAssignee(assignee);
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            created.add(task);
+            createdIndexes.add(i);
+            results.add(null);
+        }
+
+        // Ids come from the pooled sequence, so the inserts are flushed as JDBC batches at commit.
+        taskRepository.saveAll(created);
+
+        for (int i = 0; i < created.size(); i++) {
+            int index = createdIndexes.get(i);
+            TaskResponse response = mapToResponse(created.get(i));
+            results.set(index, new TaskBatchItemResult(index, HttpStatus.CREATED.value(), response, null));
+            publish(TaskEventType.CREATED, response, null, currentUser);
+        }
+        return TaskBatchResponse.of(results);
+    }
+
+    @Override
+    @Transactional(timeoutString = WRITE_TIMEOUT)
+    public TaskBatchResponse updateTasks(List<TaskBatchUpdateRequest> requests, UserPrincipal currentUser) {
+        validateBatchSize(requests);
+
+        Set<Long> taskIds = new HashSet<>();
+        Set<Long> assigneeIds = new HashSet<>();
+        for (TaskBatchUpdateRequest request : requests) {
+            if (request == null) {
+                continue;
+            }
+            if (request.id() != null) {
+                taskIds.add(request.id());
+            }
+            if (request.assigneeId() != null) {
+                assigneeIds.add(request.assigneeId());
+            }
+        }
+        Map<Long, Task> tasks = taskRepository.findAllWithUsersByIdIn(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        Map<Long, User> assignees = findUsersById(assigneeIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskBatchItemResult> results = new ArrayList<>(requests.size());
+        List<Integer> updatedIndexes = new ArrayList<>(requests.size());
+        List<Task> updated = new ArrayList<>(requests.size());
+        List<TaskDimensions> previous = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            TaskBatchUpdateRequest request = requests.get(i);
+            if (request == null || request.id() == null) {
+                results.add(failed(i, HttpStatus.BAD_REQUEST, "Task id is required"));
+                continue;
+            }
+            String violations = validate(request);
+            if (violations != null) {
+                results.add(failed(i, HttpStatus.BAD_REQUEST, violations));
+                continue;
+            }
+            Task task = tasks.get(request.id());
+            if (task == null) {
+                results.add(failed(i, HttpStatus.NOT_FOUND, "Task not found with id: " + request.id()));
+                continue;
+            }
+            User assignee = null;
+            if (request.assigneeId() != null) {
+                assignee = assignees.get(request.assigneeId());
+                if (assignee == null) {
+                    results.add(failed(i, HttpStatus.NOT_FOUND, "Assignee not found"));
+                    continue;
+                }
+            }
+
+            previous.add(dimensionsOf(task));
+            if (request.title() != null) task.setTitle(request.title());
+            if (request.description() != null) task.setDescription(request.description());
+            if (request.status() != null) task.setStatus(request.status());
+            if (request.priority() != null) task.setPriority(request.priority());
+            if (assignee != null) task.setAssignee(assignee);
+            task.setUpdatedAt(now);
+            updated.add(task);
+            updatedIndexes.add(i);
+            results.add(null);
+        }
+
+        // Managed entities: dirty checking sends the UPDATEs as JDBC batches. Flush now so the
+        // responses carry the bumped versions.
+        taskRepository.flush();
+        for (int i = 0; i < updated.size(); i++) {
+            int index = updatedIndexes.get(i);
+            TaskResponse response = mapToResponse(updated.get(i));
+            results.set(index, new TaskBatchItemResult(index, HttpStatus.OK.value(), response, null));
+            publish(TaskEventType.UPDATED, response, previous.get(i), currentUser);
+        }
+        return TaskBatchResponse.of(results);
+    }
+
+    private void validateBatchSize(List<?> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("Batch must contain at least one task");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch must not contain more than " + MAX_BATCH_SIZE + " tasks");
+        }
+    }
+
+    // Batch items are not covered by @Valid on the controller, so each one is checked here and
+    // reported on its own instead of failing the whole batch at flush time.
+    private <T> String validate(T request) {
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.joining("; "));
+    }
+
+    private Map<Long, User> findUsersById(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private TaskBatchItemResult failed(int index, HttpStatus status, String error) {
+        return new TaskBatchItemResult(index, status.value(), null, error);
+    }
+
+    private TaskDimensions dimensionsOf(Task task) {
+        return new TaskDimensions(task.getStatus(), task.getPriority(),
+                task.getAssignee() == null ? null : task.getAssignee().getId());
     }
 
-    private TaskResponse mapToResponse(Task task) {
+    // Package-private for TaskMappingBenchmark (src/jmh).
+    TaskResponse mapToResponse(Task task) {
         return new TaskResponse(
                 task.getId(),
                 task.getTitle(),
@@ -118,7 +646,8 @@ public class TaskServiceImpl implements TaskService {
                 mapUserToSimpleResponse(task.getAssignee()),
                 mapUserToSimpleResponse(task.getCreator()),
                 task.getCreatedAt(),
-                task.getUpdatedAt()
+                task.getUpdatedAt(),
+                task.getVersion()
         );
     }
 
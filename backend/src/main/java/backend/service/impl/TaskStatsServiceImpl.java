@@ -0,0 +1,138 @@
+package backend.service.impl;
+
+import backend.config.ReadWriteRoutingDataSource;
+import backend.dto.TaskDimensionCount;
+import backend.dto.TaskDimensions;
+import backend.dto.TaskEvent;
+import backend.dto.TaskStatsResponse;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.repository.ArchivedTaskRepository;
+import backend.repository.TaskRepository;
+import backend.service.TaskStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Task counts by status, priority and assignee for the dashboard.
+ * <p>
+ * Counters are striped {@link LongAdder}s moved by committed {@link TaskEvent}s, so reads cost
+ * the same regardless of how many tasks exist and writers never contend on a shared lock.
+ * They are seeded from a GROUP BY over tasks and tasks_archive once the application is ready,
+ * and the same queries periodically replace them to correct any drift (for example writes made outside the
+ * service, or events that raced a previous reconciliation).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskStatsServiceImpl implements TaskStatsService {
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+
+    private volatile Counters counters = new Counters();
+    private volatile LocalDateTime reconciledAt;
+
+    @Override
+    public TaskStatsResponse getStats() {
+        Counters current = counters;
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        current.byStatus.forEach((status, count) -> byStatus.put(status, count.sum()));
+        Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        current.byPriority.forEach((priority, count) -> byPriority.put(priority, count.sum()));
+        Map<Long, Long> byAssignee = new LinkedHashMap<>();
+        current.byAssignee.forEach((assigneeId, count) -> {
+            long sum = count.sum();
+            if (sum != 0) {
+                byAssignee.put(assigneeId, sum);
+            }
+        });
+        return new TaskStatsResponse(current.total.sum(), byStatus, byPriority, byAssignee,
+                current.unassigned.sum(), reconciledAt);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        Counters current = counters;
+        current.add(event.previous(), -1);
+        current.add(event.current(), 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.tasks.stats.reconcile-interval:PT5M}",
+            initialDelayString = "${app.tasks.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        // On the primary: replica lag would undo events the counters have already applied.
+        List<TaskDimensionCount> rows = ReadWriteRoutingDataSource.onPrimary(taskRepository::countByDimensions);
+        // Archived tasks still count; archiving moves a task without changing it.
+        List<TaskDimensionCount> archived = ReadWriteRoutingDataSource.onPrimary(archivedTaskRepository::countByDimensions);
+        Counters fresh = new Counters();
+        for (TaskDimensionCount row : rows) {
+            fresh.add(new TaskDimensions(row.status(), row.priority(), row.assigneeId()), row.count());
+        }
+        for (TaskDimensionCount row : archived) {
+            fresh.add(new TaskDimensions(row.status(), row.priority(), row.assigneeId()), row.count());
+        }
+
+        long drift = Math.abs(fresh.total.sum() - counters.total.sum());
+        counters = fresh;
+        reconciledAt = LocalDateTime.now();
+        if (drift != 0) {
+            log.info("Task stats reconciled, total was off by {}", drift);
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder unassigned = new LongAdder();
+        private final Map<TaskStatus, LongAdder> byStatus = new EnumMap<>(TaskStatus.class);
+        private final Map<TaskPriority, LongAdder> byPriority = new EnumMap<>(TaskPriority.class);
+        private final ConcurrentHashMap<Long, LongAdder> byAssignee = new ConcurrentHashMap<>();
+
+        // The enum maps are filled up front and never change shape, so concurrent reads are safe.
+        private Counters() {
+            for (TaskStatus status : TaskStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+            for (TaskPriority priority : TaskPriority.values()) {
+                byPriority.put(priority, new LongAdder());
+            }
+        }
+
+        private void add(TaskDimensions dimensions, long delta) {
+            if (dimensions == null) {
+                return;
+            }
+            total.add(delta);
+            if (dimensions.status() != null) {
+                byStatus.get(dimensions.status()).add(delta);
+            }
+            if (dimensions.priority() != null) {
+                byPriority.get(dimensions.priority()).add(delta);
+            }
+            if (dimensions.assigneeId() == null) {
+                unassigned.add(delta);
+            } else {
+                byAssignee.computeIfAbsent(dimensions.assigneeId(), id -> new LongAdder()).add(delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package backend.service.impl;
+
+import backend.config.AppProperties;
+import backend.dto.TaskDimensions;
+import backend.dto.TaskEvent;
+import backend.enums.TaskStatus;
+import backend.service.TaskStreamService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed {@link TaskEvent}s out to Server-Sent Event subscribers.
+ * <p>
+ * The servlet thread is released as soon as the emitter is returned. Each subscriber has a
+ * bounded queue drained by its own virtual thread, which parks while the connection is idle,
+ * so thousands of open boards pin no platform threads. Publishing never blocks: a subscriber
+ * whose queue is full is disconnected and is expected to reconnect and catch up.
+ * <p>
+ * The write itself runs on a platform thread. Spring writes to the response while holding the
+ * emitter's monitor, and a socket write blocking there would pin the drainer's carrier thread;
+ * a few clients that stop reading would then stall every virtual thread, request handling
+ * included. The writer pool is fixed at {@code writer-threads} with {@code write-queue-size}
+ * writes waiting behind them, so stalled clients cannot grow it; a write that cannot be queued,
+ * or does not finish within {@code send-timeout}, drops its subscriber.
+ */
+@Service
+@Slf4j
+public class TaskStreamServiceImpl implements TaskStreamService {
+
+    private final AppProperties.Stream properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor writers;
+
+    public TaskStreamServiceImpl(AppProperties appProperties) {
+        this.properties = appProperties.getTasks().getStream();
+        this.writers = new ThreadPoolExecutor(
+                properties.getWriterThreads(), properties.getWriterThreads(),
+                30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getWriteQueueSize()),
+                Thread.ofPlatform().name("task-stream-writer-", 0).daemon().factory());
+        // Writes are short and rare, so idle writer threads are let go rather than kept around.
+        this.writers.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writers.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter subscribe(TaskStatus status, Long assigneeId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many task stream subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, status, assigneeId, properties.getBufferSize());
+        subscribers.add(subscriber);
+
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+
+        subscriber.drainer = Thread.ofVirtual()
+                .name("task-stream")
+                .start(() -> drain(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.wants(event)) {
+                continue;
+            }
+            if (!subscriber.queue.offer(event)) {
+                log.warn("Dropping slow task stream subscriber after {} undelivered events", subscriber.queue.size());
+                subscriber.emitter.complete();
+                close(subscriber);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        long heartbeatMillis = properties.getHeartbeat().toMillis();
+        try {
+            while (!subscriber.closed.get()) {
+                TaskEvent event = subscriber.queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    write(subscriber, SseEmitter.event().comment("keep-alive"));
+                } else {
+                    write(subscriber, SseEmitter.event()
+                            .name(event.type().name())
+                            .id(String.valueOf(event.taskId()))
+                            .data(event));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Task stream subscriber disconnected: {}", e.getMessage());
+            close(subscriber);
+        } catch (TimeoutException e) {
+            log.warn("Dropping task stream subscriber that accepted no write for {}", properties.getSendTimeout());
+            subscriber.emitter.complete();
+            close(subscriber);
+        } catch (RejectedExecutionException e) {
+            log.warn("Dropping task stream subscriber: all {} writers busy and {} writes queued",
+                    writers.getMaximumPoolSize(), writers.getQueue().size());
+            subscriber.emitter.complete();
+            close(subscriber);
+        }
+    }
+
+    private void write(Subscriber subscriber, SseEmitter.SseEventBuilder event)
+            throws IOException, InterruptedException, TimeoutException {
+        Future<?> write = writers.submit(() -> {
+            subscriber.emitter.send(event);
+            return null;
+        });
+        try {
+            write.get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof IllegalStateException completed) {
+                throw completed;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException | TimeoutException e) {
+            write.cancel(true);
+            // A write still waiting for a thread would otherwise hold its queue slot.
+            writers.remove((Runnable) write);
+            throw e;
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            subscribers.remove(subscriber);
+            if (subscriber.drainer != null) {
+                subscriber.drainer.interrupt();
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final TaskStatus status;
+        private final Long assigneeId;
+        private final BlockingQueue<TaskEvent> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread drainer;
+
+        private Subscriber(SseEmitter emitter, TaskStatus status, Long assigneeId, int bufferSize) {
+            this.emitter = emitter;
+            this.status = status;
+            this.assigneeId = assigneeId;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        // Matching the previous state as well lets a filtered board hear that a task left it.
+        private boolean wants(TaskEvent event) {
+            return matches(event.current()) || matches(event.previous());
+        }
+
+        private boolean matches(TaskDimensions dimensions) {
+            return dimensions != null
+                    && (status == null || status == dimensions.status())
+                    && (assigneeId == null || Objects.equals(assigneeId, dimensions.assigneeId()));
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package backend.service.impl;
+
+import backend.config.AppProperties;
+import backend.dto.SignUpRequestDto;
+import backend.dto.UserProvisioningItemResult;
+import backend.dto.UserProvisioningResponse;
+import backend.dto.UserSimpleResponse;
+import backend.enums.ImportState;
+import backend.enums.RoleName;
+import backend.exception.BadRequestException;
+import backend.exception.ResourceNotFoundException;
+import backend.model.Role;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.UserRepository;
+import backend.service.UserProvisioningService;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many accounts at once for onboarding.
+ * <p>
+ * A batch is screened up front: bean validation per entry, duplicates within the request, and
+ * a single select for emails and usernames that are already taken. Passwords of the remaining
+ * entries are hashed on a fixed pool of low-priority platform threads, one fewer than the
+ * cores by default, so BCrypt never takes the whole CPU away from interactive logins. Users
+ * are saved a batch per transaction as their hashes complete. The request returns at once with
+ * a provisioning id whose progress can be polled.
+ */
+@Slf4j
+@Service
+public class UserProvisioningServiceImpl implements UserProvisioningService {
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final AppProperties.Provisioning properties;
+    private final ExecutorService hashingPool;
+    private final Map<String, ProvisioningJob> jobs = new ConcurrentHashMap<>();
+
+    public UserProvisioningServiceImpl(UserRepository userRepository,
+                                       RoleRepository roleRepository,
+                                       PasswordEncoder passwordEncoder,
+                                       TransactionTemplate transactionTemplate,
+                                       Validator validator,
+                                       AppProperties appProperties) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.properties = appProperties.getUsers().getProvisioning();
+
+        int workers = properties.getWorkers() > 0
+                ? properties.getWorkers()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.hashingPool = Executors.newFixedThreadPool(workers, Thread.ofPlatform()
+                .name("user-provisioning-", 0)
+                .priority(Thread.MIN_PRIORITY)
+                .daemon()
+                .factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    @Override
+    public UserProvisioningResponse provision(List<SignUpRequestDto> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("No users to provision");
+        }
+        if (requests.size() > properties.getMaxUsers()) {
+            throw new BadRequestException("Too many users in one request: " + requests.size()
+                    + " (max " + properties.getMaxUsers() + ")");
+        }
+
+        ProvisioningJob job = new ProvisioningJob(UUID.randomUUID().toString(), requests.size());
+        jobs.put(job.id, job);
+        // May hold nulls, which are reported per entry.
+        List<SignUpRequestDto> snapshot = new ArrayList<>(requests);
+        Thread.ofVirtual()
+                .name("user-provisioning-" + job.id)
+                .start(() -> run(job, snapshot));
+        return job.toResponse();
+    }
+
+    @Override
+    public UserProvisioningResponse getProvisioning(String id) {
+        ProvisioningJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("User provisioning not found with id: " + id);
+        }
+        return job.toResponse();
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.provisioning.purge-interval:PT1H}")
+    public void purgeFinishedProvisioning() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        jobs.values().removeIf(job -> job.state != ImportState.RUNNING && job.finishedAt.isBefore(cutoff));
+    }
+
+    private void run(ProvisioningJob job, List<SignUpRequestDto> requests) {
+        List<Future<String>> hashes = List.of();
+        ImportState outcome = ImportState.FAILED;
+        String failure = null;
+        try {
+            List<Candidate> candidates = screen(job, requests);
+            Role role = roleRepository.findByName(RoleName.USER)
+                    .orElseThrow(() -> new ResourceNotFoundException("Default USER role not found"));
+
+            // Queue every hash now; the pool works through them while earlier batches are saved.
+            hashes = candidates.stream()
+                    .map(candidate -> hashingPool.submit(() -> passwordEncoder.encode(candidate.request.getPassword())))
+                    .toList();
+
+            for (int from = 0; from < candidates.size(); from += properties.getBatchSize()) {
+                int to = Math.min(from + properties.getBatchSize(), candidates.size());
+                List<Candidate> batch = candidates.subList(from, to);
+                List<String> batchHashes = new ArrayList<>(batch.size());
+                for (int i = from; i < to; i++) {
+                    batchHashes.add(hashes.get(i).get());
+                }
+                save(job, batch, batchHashes, role);
+            }
+            outcome = ImportState.COMPLETED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = "Interrupted";
+        } catch (ExecutionException | RuntimeException e) {
+            log.warn("User provisioning {} failed after {} users", job.id, job.processed.get(), e);
+            failure = e.getMessage();
+        } finally {
+            hashes.forEach(hash -> hash.cancel(false));
+            job.finish(outcome, failure);
+        }
+    }
+
+    // Drops invalid entries, duplicates within the request and already taken emails/usernames.
+    private List<Candidate> screen(ProvisioningJob job, List<SignUpRequestDto> requests) {
+        List<Candidate> valid = new ArrayList<>(requests.size());
+        Set<String> emails = new HashSet<>();
+        Set<String> usernames = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            SignUpRequestDto request = requests.get(i);
+            if (request == null) {
+                job.fail(i, null, HttpStatus.BAD_REQUEST, "Empty user");
+                continue;
+            }
+            String violations = validate(request);
+            if (violations != null) {
+                job.fail(i, request.getEmail(), HttpStatus.BAD_REQUEST, violations);
+                continue;
+            }
+            String email = key(request.getEmail());
+            String username = key(request.getUsername());
+            if (emails.contains(email) || usernames.contains(username)) {
+                job.fail(i, request.getEmail(), HttpStatus.CONFLICT, "Email or username repeated in this request");
+                continue;
+            }
+            emails.add(email);
+            usernames.add(username);
+            valid.add(new Candidate(i, request));
+        }
+        if (valid.isEmpty()) {
+            return valid;
+        }
+
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenUsernames = new HashSet<>();
+        List<UserSimpleResponse> existing = userRepository.findSimpleByEmailInOrUsernameIn(
+                valid.stream().map(candidate -> candidate.request.getEmail()).toList(),
+                valid.stream().map(candidate -> candidate.request.getUsername()).toList());
+        for (UserSimpleResponse user : existing) {
+            takenEmails.add(key(user.email()));
+            takenUsernames.add(key(user.username()));
+        }
+
+        List<Candidate> candidates = new ArrayList<>(valid.size());
+        for (Candidate candidate : valid) {
+            SignUpRequestDto request = candidate.request;
+            if (takenEmails.contains(key(request.getEmail()))) {
+                job.fail(candidate.index, request.getEmail(), HttpStatus.CONFLICT,
+                        "Email '" + request.getEmail() + "' is already registered!");
+            } else if (takenUsernames.contains(key(request.getUsername()))) {
+                job.fail(candidate.index, request.getEmail(), HttpStatus.CONFLICT,
+                        "Username '" + request.getUsername() + "' is already taken!");
+            } else {
+                candidates.add(candidate);
+            }
+        }
+        return candidates;
+    }
+
+    private void save(ProvisioningJob job, List<Candidate> batch, List<String> hashes, Role role) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<User> users = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    users.add(toUser(batch.get(i).request, hashes.get(i), role, now));
+                }
+                userRepository.saveAll(users);
+            });
+            job.created.addAndGet(batch.size());
+            job.processed.addAndGet(batch.size());
+        } catch (DataAccessException | TransactionException e) {
+            // Someone registered one of these since the conflict check; retry one at a time so
+            // only that entry fails.
+            for (int i = 0; i < batch.size(); i++) {
+                Candidate candidate = batch.get(i);
+                User user = toUser(candidate.request, hashes.get(i), role, now);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> userRepository.save(user));
+                    job.created.incrementAndGet();
+                    job.processed.incrementAndGet();
+                } catch (DataAccessException | TransactionException single) {
+                    job.fail(candidate.index, candidate.request.getEmail(), HttpStatus.CONFLICT,
+                            "Email or username is already taken");
+                }
+            }
+        }
+    }
+
+    private static User toUser(SignUpRequestDto request, String hashedPassword, Role role, LocalDateTime now) {
+        return User.builder()
+                .email(request.getEmail())
+                .username(request.getUsername())
+                .fullName(request.getFullName())
+                .password(hashedPassword)
+                .role(role)
+                .createdAt(now)
+                .build();
+    }
+
+    private String validate(SignUpRequestDto request) {
+        Set<ConstraintViolation<SignUpRequestDto>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Candidate(int index, SignUpRequestDto request) {}
+
+    private static final class ProvisioningJob {
+        final String id;
+        final int total;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final AtomicLong processed = new AtomicLong();
+        final AtomicLong created = new AtomicLong();
+        final List<UserProvisioningItemResult> failures = Collections.synchronizedList(new ArrayList<>());
+        volatile ImportState state = ImportState.RUNNING;
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+
+        ProvisioningJob(String id, int total) {
+            this.id = id;
+            this.total = total;
+        }
+
+        void fail(int index, String email, HttpStatus status, String reason) {
+            failures.add(new UserProvisioningItemResult(index, status.value(), email, reason));
+            processed.incrementAndGet();
+        }
+
+        void finish(ImportState finalState, String failure) {
+            error = failure;
+            finishedAt = LocalDateTime.now();
+            state = finalState;
+        }
+
+        UserProvisioningResponse toResponse() {
+            List<UserProvisioningItemResult> failed;
+            synchronized (failures) {
+                failed = new ArrayList<>(failures);
+            }
+            failed.sort(Comparator.comparingInt(UserProvisioningItemResult::index));
+            return new UserProvisioningResponse(id, state, total, processed.get(), created.get(), failed.size(),
+                    failed, startedAt, finishedAt, error);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package backend.service.impl;
 
 import backend.config.AppProperties;
+import backend.config.ReadWriteRoutingDataSource;
 import backend.dto.*;
 import backend.model.Role;
 import backend.model.User;
@@ -108,7 +109,9 @@ public class UserServiceImpl implements UserService {
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User user = userRepository.findById(userPrincipal.getId()).orElseThrow();
+        // Someone who has just registered may not have reached the replica yet.
+        User user = ReadWriteRoutingDataSource.onPrimary(() -> userRepository.findById(userPrincipal.getId()))
+                .orElseThrow();
 
         String generateAccessToken = jwtTokenProvider.generateAccessToken(authentication, user.getUsername());
 
@@ -121,8 +124,13 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<ResponseDto> getAllUsers(String searchQuery) {
         Specification<User> spec = (root, query, cb) -> {
+            // Fetch the EAGER role in the same select instead of one follow-up select per role.
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch("role");
+            }
             if (searchQuery == null || searchQuery.trim().isEmpty()) {
                 return cb.conjunction();
             }
@@ -156,6 +164,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<ResponseDto> getCurrentUser(String email) {
         try {
             User user = userRepository.findByEmail(email)
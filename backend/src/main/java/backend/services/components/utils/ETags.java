@@ -0,0 +1,62 @@
+package backend.services.components.utils;
+
+import backend.exception.PreconditionFailedException;
+import org.springframework.http.MediaType;
+
+/**
+ * Strong entity tags of the form {@code "<id>-<version>"} for versioned resources. Binary
+ * representations of the same resource carry their format as well, e.g. {@code "<id>-<version>+cbor"}.
+ */
+public class ETags {
+
+    private static final char FORMAT_SEPARATOR = '+';
+
+    private ETags() {
+    }
+
+    public static String of(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Narrows a tag to one representation. JSON, Smile and CBOR bodies of the same resource
+     * differ byte for byte, so a strong tag must differ too; JSON (or no negotiated type) keeps
+     * the plain tag.
+     */
+    public static String forRepresentation(String eTag, MediaType mediaType) {
+        if (mediaType == null || MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + FORMAT_SEPARATOR + mediaType.getSubtype() + "\"";
+    }
+
+    /**
+     * Returns the version an {@code If-Match} header pins the update to, or {@code null} when
+     * the header is absent or {@code *}. The tag of any representation of the task is accepted.
+     * A tag for a different resource, or one that is not a tag this server issued, can never
+     * match and fails the precondition.
+     */
+    public static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("Weak entity tags cannot be used with If-Match");
+        }
+        tag = tag.replace("\"", "");
+        int format = tag.indexOf(FORMAT_SEPARATOR);
+        if (format >= 0) {
+            tag = tag.substring(0, format);
+        }
+        String prefix = id + "-";
+        if (!tag.startsWith(prefix)) {
+            throw new PreconditionFailedException("If-Match does not identify task " + id);
+        }
+        try {
+            return Long.parseLong(tag.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("Malformed If-Match header: " + ifMatch);
+        }
+    }
+}
@@ -1,26 +1,31 @@
 package backend.services.components.utils;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
 
-
+/**
+ * Static, exception-swallowing facade over a private {@link JsonCodec}. Kept for existing
+ * callers; new code should inject {@link JsonCodec} instead.
+ */
 @Slf4j
 public class JacksonUtil {
     static ObjectMapper objectMapper = new ObjectMapper();
+    private static final JsonCodec codec;
 
     static {
         objectMapper.registerModule(new JavaTimeModule());
         // Ignore redundant fields in json strings
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
                 .configure(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT, true);
+        codec = new JsonCodec(objectMapper);
     }
 
     private JacksonUtil(){
@@ -28,8 +33,8 @@ public class JacksonUtil {
 
     public static JsonNode readTree(String json){
         try {
-            return objectMapper.readTree(json);
-        } catch (JsonProcessingException e) {
+            return codec.readTree(json);
+        } catch (UncheckedIOException e) {
             log.error("",e);
             return null;
         }
@@ -37,8 +42,8 @@ public class JacksonUtil {
 
     public static <T> T treeToValue(JsonNode node , Class<T> clazz){
         try {
-            return objectMapper.treeToValue(node,clazz);
-        } catch (JsonProcessingException e) {
+            return codec.treeToValue(node, clazz);
+        } catch (UncheckedIOException e) {
             log.error("",e);
             return null;
         }
@@ -46,9 +51,8 @@ public class JacksonUtil {
 
     public static <T> List<T> treeToListValue(JsonNode node , Class<T> clazz){
         try {
-            JavaType javaType = getObjectiveJavaType(List.class, clazz);
-            return objectMapper.treeToValue(node,javaType);
-        } catch (JsonProcessingException e) {
+            return codec.treeToList(node, clazz);
+        } catch (UncheckedIOException e) {
             log.error("",e);
             return Collections.emptyList();
         }
@@ -56,16 +60,16 @@ public class JacksonUtil {
 
     public static <T> T parseObject(String json, Class<T> clazz) {
         try {
-            return objectMapper.readerFor(clazz).readValue(json);
-        } catch (IOException e) {
+            return codec.read(json, clazz);
+        } catch (UncheckedIOException e) {
             log.error("",e);
             return null;
         }
     }
     public static <T> T parseObject(String json, TypeReference<T> valueTypeRef) {
         try {
-            return objectMapper.readValue(json,valueTypeRef);
-        } catch (IOException e) {
+            return codec.read(json, valueTypeRef);
+        } catch (UncheckedIOException e) {
             log.error("",e);
             return null;
         }
@@ -73,8 +77,8 @@ public class JacksonUtil {
 
     public static String writeAsJsonString(Object object) {
         try {
-            return objectMapper.writeValueAsString(object);
-        } catch (IOException e) {
+            return codec.write(object);
+        } catch (UncheckedIOException e) {
             log.error("",e);
             return "";
         }
@@ -82,9 +86,8 @@ public class JacksonUtil {
 
     public static <T> List<T> jsonString2List(String jsonString, Class<T> clazz) {
         try {
-            JavaType javaType = getObjectiveJavaType(List.class, clazz);
-            return objectMapper.readerFor(javaType).readValue(jsonString);
-        } catch (IOException e) {
+            return codec.readList(jsonString, clazz);
+        } catch (UncheckedIOException e) {
             log.error("",e);
             return Collections.emptyList();
         }
@@ -95,9 +98,8 @@ public class JacksonUtil {
      */
     public static String writeAsJsonStringIgnoreNull(Object object) {
         try {
-            objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-            return objectMapper.writeValueAsString(object);
-        } catch (IOException e) {
+            return codec.write(object, JsonInclude.Include.NON_NULL);
+        } catch (UncheckedIOException e) {
             log.error("",e);
             return "";
         }
@@ -111,12 +113,10 @@ public class JacksonUtil {
 
     public <T> T readValue(String json,Class<?> collectionClass, Class<?>... elementClasses){
         try {
-            return objectMapper.readValue(json,objectMapper.getTypeFactory()
-                    .constructParametricType(collectionClass, elementClasses));
-        } catch (JsonProcessingException e) {
+            return codec.readerFor(getObjectiveJavaType(collectionClass, elementClasses)).readValue(json);
+        } catch (IOException e) {
             log.error("",e);
             return null;
         }
     }
 }
-
@@ -0,0 +1,228 @@
+package backend.services.components.utils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * JSON reading and writing through immutable, pre-configured {@link ObjectReader}s and
+ * {@link ObjectWriter}s.
+ * <p>
+ * Readers are cached per target type (including {@code List<T>} types) and writers per value
+ * type and inclusion policy, so each call goes straight to an already resolved (de)serializer
+ * and never touches shared mapper configuration. Inclusion policies get their own mapper copy,
+ * created once; changing inclusion on a shared mapper would race other threads and flush its
+ * serializer caches. The byte[] and stream variants skip the intermediate String.
+ * <p>
+ * Malformed input and unwritable values surface as {@link UncheckedIOException}.
+ */
+@Component
+public class JsonCodec {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader reader;
+    private final Map<JsonInclude.Include, ObjectMapper> mappersByInclusion = new EnumMap<>(JsonInclude.Include.class);
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ObjectReader> listReaders = new ConcurrentHashMap<>();
+    private final ConcurrentMap<WriterKey, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public JsonCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // Lenient reads: unknown fields are ignored and "" binds to null objects.
+        this.reader = objectMapper.reader()
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .with(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
+        for (JsonInclude.Include inclusion : JsonInclude.Include.values()) {
+            if (inclusion != JsonInclude.Include.USE_DEFAULTS && inclusion != JsonInclude.Include.CUSTOM) {
+                mappersByInclusion.put(inclusion, objectMapper.copy().setSerializationInclusion(inclusion));
+            }
+        }
+    }
+
+    // Reading
+
+    public <T> T read(String json, Class<T> type) {
+        try {
+            return readerFor(type).readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> T read(byte[] json, Class<T> type) {
+        try {
+            return readerFor(type).readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> T read(InputStream json, Class<T> type) {
+        try {
+            return readerFor(type).readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> T read(String json, TypeReference<T> type) {
+        try {
+            return readerFor(type.getType()).readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> T read(byte[] json, TypeReference<T> type) {
+        try {
+            return readerFor(type.getType()).readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> List<T> readList(String json, Class<T> elementType) {
+        try {
+            return listReaderFor(elementType).readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> List<T> readList(byte[] json, Class<T> elementType) {
+        try {
+            return listReaderFor(elementType).readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> List<T> readList(InputStream json, Class<T> elementType) {
+        try {
+            return listReaderFor(elementType).readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public JsonNode readTree(String json) {
+        try {
+            return reader.readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public JsonNode readTree(byte[] json) {
+        try {
+            return reader.readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> T treeToValue(JsonNode node, Class<T> type) {
+        try {
+            return readerFor(type).readValue(node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> List<T> treeToList(JsonNode node, Class<T> elementType) {
+        try {
+            return listReaderFor(elementType).readValue(node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Writing; USE_DEFAULTS keeps the application mapper's own inclusion setting.
+
+    public String write(Object value) {
+        return write(value, JsonInclude.Include.USE_DEFAULTS);
+    }
+
+    public String write(Object value, JsonInclude.Include inclusion) {
+        try {
+            return writerForValue(value, inclusion).writeValueAsString(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public byte[] writeBytes(Object value) {
+        return writeBytes(value, JsonInclude.Include.USE_DEFAULTS);
+    }
+
+    public byte[] writeBytes(Object value, JsonInclude.Include inclusion) {
+        try {
+            return writerForValue(value, inclusion).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Leaves the stream open for the caller.
+    public void write(OutputStream out, Object value, JsonInclude.Include inclusion) {
+        try {
+            writerForValue(value, inclusion).writeValue(out, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Cached instances, for callers that bind or write many values of the same type.
+
+    public ObjectReader readerFor(Type type) {
+        return readers.computeIfAbsent(type, key -> reader.forType(objectMapper.constructType(key)));
+    }
+
+    public ObjectReader listReaderFor(Class<?> elementType) {
+        return listReaders.computeIfAbsent(elementType, key ->
+                reader.forType(objectMapper.getTypeFactory().constructCollectionType(List.class, key)));
+    }
+
+    public ObjectWriter writerFor(Class<?> type, JsonInclude.Include inclusion) {
+        return writers.computeIfAbsent(new WriterKey(type, inclusion),
+                key -> mapperFor(key.inclusion()).writerFor(key.type())
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+    }
+
+    private ObjectWriter writerForValue(Object value, JsonInclude.Include inclusion) {
+        if (value == null) {
+            return mapperFor(inclusion).writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+        return writerFor(value.getClass(), inclusion);
+    }
+
+    private ObjectMapper mapperFor(JsonInclude.Include inclusion) {
+        ObjectMapper mapper = mappersByInclusion.get(inclusion);
+        if (mapper != null) {
+            return mapper;
+        }
+        if (inclusion == JsonInclude.Include.USE_DEFAULTS) {
+            return objectMapper;
+        }
+        throw new IllegalArgumentException("Unsupported inclusion: " + inclusion);
+    }
+
+    private record WriterKey(Class<?> type, JsonInclude.Include inclusion) {}
+}
@@ -0,0 +1,88 @@
+package backend.services.components.utils;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts the JDBC statements Hibernate prepares and the entities it loads on the current thread
+ * while a {@link Scope} is open. Installed as the session factory's statement inspector and
+ * interceptor (see MetricsConfig); with no open scope each hook is a single ThreadLocal read.
+ * <p>
+ * Scopes nest, and every open scope on the thread sees each statement, so a test can wrap a
+ * whole request while the request filter keeps its own count.
+ */
+public class QueryCounter implements StatementInspector, Interceptor {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    public static Scope start() {
+        return start(false);
+    }
+
+    /**
+     * @param captureSql also keep the SQL text of each statement, for assertion messages
+     */
+    public static Scope start(boolean captureSql) {
+        Scope scope = new Scope(CURRENT.get(), captureSql);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+            if (scope.sql != null) {
+                scope.sql.add(sql);
+            }
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.entityLoads++;
+        }
+        return false;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final List<String> sql;
+        private int statements;
+        private int entityLoads;
+
+        private Scope(Scope parent, boolean captureSql) {
+            this.parent = parent;
+            this.sql = captureSql ? new ArrayList<>() : null;
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        public int entityLoads() {
+            return entityLoads;
+        }
+
+        public List<String> sql() {
+            return sql == null ? List.of() : Collections.unmodifiableList(sql);
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
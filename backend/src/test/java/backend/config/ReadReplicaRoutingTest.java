@@ -0,0 +1,173 @@
+package backend.config;
+
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Task;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import backend.security.UserPrincipalLoader;
+import backend.support.TestUsers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two separate in-memory H2 databases stand in for the primary and the replica. Nothing copies
+ * data between them except {@link #replicate()}, so a row that exists only on the primary shows
+ * which database served a read.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.url=jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=",
+        "app.datasource.read-your-writes-window=1m"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserPrincipalLoader userPrincipalLoader;
+
+    private TestUsers users;
+    private User member;
+    private User admin;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        users = new TestUsers(roleRepository, userRepository);
+        member = users.create("routing-member", RoleName.USER);
+        admin = users.create("routing-admin", RoleName.ADMIN);
+        replicate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        users.deleteAll();
+    }
+
+    @Test
+    void readOnlyTransactionsAreServedByTheReplica() throws Exception {
+        Task task = taskRepository.save(Task.builder()
+                .title("Not replicated yet")
+                .status(TaskStatus.TODO)
+                .priority(TaskPriority.LOW)
+                .creator(admin)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).with(user(UserPrincipal.create(member))))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tasks").with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        replicate();
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Not replicated yet"));
+    }
+
+    @Test
+    void writesGoToThePrimaryAndTheWriterReadsThemBack() throws Exception {
+        String body = """
+                {"title":"Fresh","status":"TODO","priority":"HIGH","assigneeId":%d}
+                """.formatted(member.getId());
+        String created = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+
+        assertThat(countTasks(primaryDataSource)).isEqualTo(1);
+        assertThat(countTasks(replicaDataSource)).isZero();
+
+        // Inside the writer's read-your-writes window: served by the primary.
+        mockMvc.perform(get("/api/tasks/{id}", id).with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Fresh"));
+        // Everyone else still reads the (lagging) replica.
+        mockMvc.perform(get("/api/tasks/{id}", id).with(user(UserPrincipal.create(admin))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void tokenLookupConfirmsAReplicaMissOnThePrimary() {
+        User newcomer = users.create("routing-newcomer", RoleName.USER);
+
+        UserPrincipal principal = (UserPrincipal) userPrincipalLoader.loadPrincipalByEmail(newcomer.getEmail());
+
+        assertThat(principal.getId()).isEqualTo(newcomer.getId());
+    }
+
+    // Stands in for replication: copies the primary's schema and data onto the replica.
+    private void replicate() throws IOException {
+        Path script = Files.createTempFile("replica", ".sql");
+        try {
+            new JdbcTemplate(primaryDataSource).execute("SCRIPT TO '" + script + "'");
+            JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+            replica.execute("DROP ALL OBJECTS");
+            replica.execute("RUNSCRIPT FROM '" + script + "'");
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+
+    private static long countTasks(DataSource dataSource) {
+        Long count = new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM tasks", Long.class);
+        return count == null ? 0 : count;
+    }
+}
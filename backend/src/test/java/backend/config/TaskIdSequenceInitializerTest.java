@@ -0,0 +1,95 @@
+package backend.config;
+
+import backend.model.Task;
+import org.h2.Driver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Runs the alignment against a real database laid out the way Hibernate's MySQL dialect lays
+ * out a pooled generator: a one-row tasks_seq table next to tasks.
+ */
+class TaskIdSequenceInitializerTest {
+
+    private final SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new Driver(),
+            "jdbc:h2:mem:task_id_sequence;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void sequenceIsMovedAFullBlockPastTheHighestId() {
+        createSequenceTable(1);
+        jdbcTemplate.update("INSERT INTO tasks (id) VALUES (7), (120), (42)");
+
+        TaskIdSequenceInitializer.align(jdbcTemplate);
+
+        assertThat(nextVal()).isEqualTo(120 + Task.ID_ALLOCATION_SIZE + 1);
+    }
+
+    @Test
+    void sequenceAlreadyAheadIsLeftAlone() {
+        createSequenceTable(10_000);
+        jdbcTemplate.update("INSERT INTO tasks (id) VALUES (120)");
+
+        TaskIdSequenceInitializer.align(jdbcTemplate);
+
+        assertThat(nextVal()).isEqualTo(10_000);
+    }
+
+    @Test
+    void emptyTableLeavesTheSequenceAlone() {
+        createSequenceTable(1);
+
+        TaskIdSequenceInitializer.align(jdbcTemplate);
+
+        assertThat(nextVal()).isEqualTo(1);
+    }
+
+    @Test
+    void nativeSequencesAreSkipped() {
+        jdbcTemplate.execute("CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY " + Task.ID_ALLOCATION_SIZE);
+        jdbcTemplate.update("INSERT INTO tasks (id) VALUES (7)");
+
+        assertThatCode(() -> TaskIdSequenceInitializer.align(jdbcTemplate)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void alignsWhenTheEntityManagerFactoryIsBuiltBeforeAnyoneCanUseIt() {
+        createSequenceTable(1);
+        jdbcTemplate.update("INSERT INTO tasks (id) VALUES (300)");
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        TaskIdSequenceInitializer initializer = new TaskIdSequenceInitializer();
+
+        initializer.postProcessAfterInitialization(dataSource, "dataSource");
+        assertThat(nextVal()).isEqualTo(1);
+
+        assertThat(initializer.postProcessAfterInitialization(factory, "entityManagerFactory")).isSameAs(factory);
+        assertThat(nextVal()).isEqualTo(300 + Task.ID_ALLOCATION_SIZE + 1);
+    }
+
+    private void createSequenceTable(long nextVal) {
+        jdbcTemplate.execute("CREATE TABLE tasks_seq (next_val BIGINT)");
+        jdbcTemplate.update("INSERT INTO tasks_seq (next_val) VALUES (?)", nextVal);
+    }
+
+    private long nextVal() {
+        return jdbcTemplate.queryForObject("SELECT next_val FROM tasks_seq", Long.class);
+    }
+}
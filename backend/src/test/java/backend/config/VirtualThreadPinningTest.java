@@ -0,0 +1,169 @@
+package backend.config;
+
+import backend.enums.RoleName;
+import backend.model.Role;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.JwtTokenProvider;
+import backend.security.UserPrincipal;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With {@code spring.threads.virtual.enabled}, no request may park a virtual thread while it
+ * holds a monitor: a pinned carrier stops every other virtual thread scheduled on it. JFR's
+ * {@code jdk.VirtualThreadPinned} event (threshold zero) is recorded while concurrent requests
+ * run through Tomcat, the JWT filter, a two-connection Hikari pool (so most of them wait for a
+ * connection), Hibernate and the JDBC driver, on both read and write paths.
+ * <p>
+ * The driver here is H2. Pass {@code -Dspring.datasource.url}, {@code .username} and
+ * {@code .password} to run the same check against MySQL and cover Connector/J's I/O path.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=2"
+})
+class VirtualThreadPinningTest {
+
+    private static final int CLIENTS = 64;
+    private static final int REQUESTS_PER_CLIENT = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User member;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.findByName(RoleName.USER)
+                .orElseGet(() -> roleRepository.save(new Role(null, RoleName.USER)));
+        member = userRepository.save(User.builder()
+                .fullName("Pinning Member")
+                .username("pinning-member@example.com")
+                .email("pinning-member@example.com")
+                .password("not-a-hash")
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .build());
+        UserPrincipal principal = UserPrincipal.create(member);
+        token = jwtTokenProvider.generateAccessToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()),
+                member.getEmail());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        userRepository.delete(member);
+    }
+
+    @Test
+    void requestsOnVirtualThreadsNeverPinACarrier() throws Exception {
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            List<Integer> statuses = drive();
+
+            // Flushes the recording and waits until every event has reached the callback.
+            recording.stop();
+            assertThat(statuses).hasSize(CLIENTS * REQUESTS_PER_CLIENT).containsOnly(200, 201);
+        }
+
+        assertThat(pinned).as("pinned virtual threads:%n%s", describe(pinned)).isEmpty();
+    }
+
+    // Each client creates a task, moves it along and lists a page, back to back.
+    private List<Integer> drive() throws Exception {
+        String base = "http://localhost:" + port + "/api/tasks";
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clients)
+                    .build();
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int client = 0; client < CLIENTS; client++) {
+                int clientId = client;
+                futures.add(clients.submit(() -> {
+                    List<Integer> statuses = new ArrayList<>();
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        HttpRequest.Builder request = switch (i % 3) {
+                            case 0 -> HttpRequest.newBuilder(URI.create(base))
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString("""
+                                            {"title":"Client %d task %d","status":"TODO","priority":"LOW"}
+                                            """.formatted(clientId, i)));
+                            case 1 -> HttpRequest.newBuilder(URI.create(base + "?limit=20&assigneeId=" + member.getId()));
+                            default -> HttpRequest.newBuilder(URI.create(base + "?limit=20&status=TODO"));
+                        };
+                        HttpResponse<Void> response = httpClient.send(
+                                request.header("Authorization", "Bearer " + token).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        statuses.add(response.statusCode());
+                    }
+                    return statuses;
+                }));
+            }
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<List<Integer>> future : futures) {
+                statuses.addAll(future.get());
+            }
+            return statuses;
+        }
+    }
+
+    private static String describe(List<RecordedEvent> events) {
+        return events.stream()
+                .limit(5)
+                .map(event -> event.getStackTrace() == null ? "(no stack)" : event.getStackTrace().getFrames().stream()
+                        .limit(25)
+                        .map(VirtualThreadPinningTest::frame)
+                        .collect(Collectors.joining("\n    ", "  ", "")))
+                .collect(Collectors.joining("\n\n"));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,213 @@
+package backend.controller;
+
+import backend.config.WebConfig;
+import backend.dto.TaskResponse;
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Role;
+import backend.model.Task;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryContentNegotiationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User member;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.findByName(RoleName.USER)
+                .orElseGet(() -> roleRepository.save(new Role(null, RoleName.USER)));
+        member = userRepository.save(User.builder()
+                .fullName("binary-member")
+                .username("binary-member")
+                .email("binary-member@example.com")
+                .password("not-a-hash")
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        userRepository.delete(member);
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .accept(MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN, MediaType.ALL)
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/api/tasks").with(user(UserPrincipal.create(member))))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void smileRoundTrip() throws Exception {
+        roundTrip(WebConfig.SMILE, objectMapper.copyWith(new SmileFactory()));
+    }
+
+    @Test
+    void cborRoundTrip() throws Exception {
+        roundTrip(MediaType.APPLICATION_CBOR, objectMapper.copyWith(new CBORFactory()));
+    }
+
+    @Test
+    void validatorsAreSpecificToTheRepresentation() throws Exception {
+        Task task = saveTask();
+        for (String uri : List.of("/api/tasks/" + task.getId(), "/api/tasks", "/api/tasks?limit=10")) {
+            String json = eTag(uri, MediaType.APPLICATION_JSON);
+            String smile = eTag(uri, WebConfig.SMILE);
+            String cbor = eTag(uri, MediaType.APPLICATION_CBOR);
+            assertThat(List.of(json, smile, cbor)).doesNotHaveDuplicates();
+
+            // A body cached as JSON is no proof the client holds the CBOR one.
+            MvcResult full = mockMvc.perform(get(uri).accept(MediaType.APPLICATION_CBOR)
+                            .header(HttpHeaders.IF_NONE_MATCH, json)
+                            .with(user(UserPrincipal.create(member))))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andExpect(header().string(HttpHeaders.ETAG, cbor))
+                    .andReturn();
+            assertThat(vary(full)).contains(HttpHeaders.ACCEPT);
+
+            MvcResult notModified = mockMvc.perform(get(uri).accept(MediaType.APPLICATION_CBOR)
+                            .header(HttpHeaders.IF_NONE_MATCH, cbor)
+                            .with(user(UserPrincipal.create(member))))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, cbor))
+                    .andReturn();
+            assertThat(vary(notModified)).contains(HttpHeaders.ACCEPT);
+        }
+        assertThat(eTag("/api/tasks/" + task.getId(), MediaType.APPLICATION_JSON))
+                .isEqualTo("\"" + task.getId() + "-0\"");
+    }
+
+    @Test
+    void ifMatchAcceptsTheTagOfAnyRepresentation() throws Exception {
+        Task task = saveTask();
+        String cbor = eTag("/api/tasks/" + task.getId(), MediaType.APPLICATION_CBOR);
+
+        MvcResult updated = mockMvc.perform(statusChange(task, "IN_PROGRESS")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_MATCH, cbor))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + task.getId() + "-1+cbor\""))
+                .andReturn();
+        assertThat(vary(updated)).contains(HttpHeaders.ACCEPT);
+
+        mockMvc.perform(statusChange(task, "DONE").header(HttpHeaders.IF_MATCH, cbor))
+                .andExpect(status().isPreconditionFailed());
+        String smile = "\"" + task.getId() + "-1+x-jackson-smile\"";
+        mockMvc.perform(statusChange(task, "DONE").header(HttpHeaders.IF_MATCH, smile))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + task.getId() + "-2\""));
+    }
+
+    private String eTag(String uri, MediaType mediaType) throws Exception {
+        return mockMvc.perform(get(uri).accept(mediaType).with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private MockHttpServletRequestBuilder statusChange(Task task, String status) {
+        return patch("/api/tasks/{id}/status", task.getId())
+                .param("status", status)
+                .with(user(UserPrincipal.create(member)));
+    }
+
+    private static List<String> vary(MvcResult result) {
+        return result.getResponse().getHeaders(HttpHeaders.VARY).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .toList();
+    }
+
+    private Task saveTask() {
+        LocalDateTime now = LocalDateTime.now();
+        return taskRepository.save(Task.builder()
+                .title("Negotiated")
+                .status(TaskStatus.TODO)
+                .priority(TaskPriority.LOW)
+                .creator(member)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    private void roundTrip(MediaType mediaType, ObjectMapper mapper) throws Exception {
+        byte[] request = mapper.writeValueAsBytes(Map.of(
+                "title", "Binary " + mediaType.getSubtype(),
+                "status", "TODO",
+                "priority", "HIGH"));
+
+        byte[] created = mockMvc.perform(post("/api/tasks")
+                        .contentType(mediaType)
+                        .accept(mediaType)
+                        .content(request)
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        TaskResponse task = mapper.readValue(created, TaskResponse.class);
+        assertThat(task.title()).isEqualTo("Binary " + mediaType.getSubtype());
+        assertThat(task.status()).isEqualTo(TaskStatus.TODO);
+        assertThat(task.priority()).isEqualTo(TaskPriority.HIGH);
+        assertThat(task.creator().email()).isEqualTo(member.getEmail());
+        assertThat(task.createdAt()).isNotNull();
+    }
+}
@@ -0,0 +1,157 @@
+package backend.controller;
+
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Task;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import backend.support.QueryBudget;
+import backend.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Per-request SQL budgets for the main endpoints. Each list endpoint is checked at two data
+ * sizes so an N+1 shows up as a budget failure listing the repeated statements.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private TestUsers users;
+    private User member;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(roleRepository, userRepository);
+        member = users.create("budget-member", RoleName.USER);
+        admin = users.create("budget-admin", RoleName.ADMIN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        users.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 60})
+    void listingTasksStaysWithinBudget(int size) throws Exception {
+        seedTasks(size);
+
+        // ETag probe + one row query
+        QueryBudget.atMost(2).perform(mockMvc, get("/api/tasks").with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(size));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 60})
+    void pagingTasksStaysWithinBudget(int size) throws Exception {
+        seedTasks(size);
+
+        QueryBudget.atMost(2).perform(mockMvc, get("/api/tasks")
+                        .param("limit", "10")
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void fetchingOneTaskStaysWithinBudget() throws Exception {
+        Long id = seedTasks(1).get(0).getId();
+
+        QueryBudget.atMost(2).perform(mockMvc, get("/api/tasks/{id}", id).with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 40})
+    void listingUsersStaysWithinBudget(int size) throws Exception {
+        for (int i = 0; i < size; i++) {
+            users.create("budget-user-" + i, i % 2 == 0 ? RoleName.USER : RoleName.ADMIN);
+        }
+
+        QueryBudget.atMost(1).perform(mockMvc, get("/api/users").with(user(UserPrincipal.create(admin))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void creatingTaskStaysWithinBudget() throws Exception {
+        String body = """
+                {"title":"Budgeted","status":"TODO","priority":"HIGH","assigneeId":%d}
+                """.formatted(member.getId());
+
+        // creator + assignee lookups, sequence, insert
+        QueryBudget.atMost(4).perform(mockMvc, post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void exceededBudgetReportsTheStatements() {
+        seedTasks(3);
+
+        assertThatThrownBy(() -> QueryBudget.atMost(1)
+                .perform(mockMvc, get("/api/tasks").with(user(UserPrincipal.create(member)))))
+                .isInstanceOf(AssertionError.class)
+                .satisfies(error -> assertThat(error.getMessage())
+                        .contains("GET /api/tasks executed 2 SQL statements, budget is 1")
+                        .containsIgnoringCase("from tasks"));
+    }
+
+    private List<Task> seedTasks(int size) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(Task.builder()
+                    .title("Budget task " + i)
+                    .status(TaskStatus.TODO)
+                    .priority(TaskPriority.MEDIUM)
+                    .creator(admin)
+                    .assignee(member)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        return taskRepository.saveAll(tasks);
+    }
+}
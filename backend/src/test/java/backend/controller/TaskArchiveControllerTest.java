@@ -0,0 +1,231 @@
+package backend.controller;
+
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.ArchivedTask;
+import backend.model.Task;
+import backend.model.User;
+import backend.repository.ArchivedTaskRepository;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import backend.service.TaskArchiveService;
+import backend.service.TaskStatsService;
+import backend.support.TestUsers;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.tasks.archive.after=30d",
+        "app.tasks.archive.batch-size=2",
+        "app.tasks.archive.pause=0ms"
+})
+@AutoConfigureMockMvc
+class TaskArchiveControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestUsers users;
+    private User member;
+    private User admin;
+    private Task recentDone;
+    private Task oldDone3;
+    private Task oldDone2;
+    private Task oldDone1;
+    private Task oldTodo;
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(roleRepository, userRepository);
+        member = users.create("archive-member", RoleName.USER);
+        admin = users.create("archive-admin", RoleName.ADMIN);
+        LocalDateTime now = LocalDateTime.now();
+        recentDone = saveTask("Recently done", TaskStatus.DONE, null, now.minusDays(1));
+        oldDone3 = saveTask("Done long ago 3", TaskStatus.DONE, null, now.minusDays(40));
+        oldDone2 = saveTask("Done long ago 2", TaskStatus.DONE, member, now.minusDays(50));
+        oldDone1 = saveTask("Done long ago 1", TaskStatus.DONE, member, now.minusDays(60));
+        oldTodo = saveTask("Forgotten", TaskStatus.TODO, null, now.minusDays(90));
+    }
+
+    @AfterEach
+    void tearDown() {
+        archivedTaskRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        users.deleteAll();
+    }
+
+    @Test
+    void oldDoneTasksMoveToTheArchiveInBatches() {
+        taskStatsService.reconcile();
+        long totalBefore = taskStatsService.getStats().total();
+
+        assertThat(taskArchiveService.archiveCompletedTasks()).isEqualTo(3);
+
+        assertThat(taskRepository.findAll())
+                .extracting(Task::getId)
+                .containsExactlyInAnyOrder(recentDone.getId(), oldTodo.getId());
+        assertThat(archivedTaskRepository.findAll())
+                .extracting(ArchivedTask::getId)
+                .containsExactlyInAnyOrder(oldDone1.getId(), oldDone2.getId(), oldDone3.getId());
+        assertThat(archivedTaskRepository.findAll())
+                .allSatisfy(archived -> {
+                    assertThat(archived.getStatus()).isEqualTo(TaskStatus.DONE);
+                    assertThat(archived.getVersion()).isZero();
+                    assertThat(archived.getArchivedAt()).isNotNull();
+                });
+        assertThat(taskArchiveService.archiveCompletedTasks()).isZero();
+
+        // Archiving moves tasks without changing them, so the dashboard totals stay put.
+        taskStatsService.reconcile();
+        assertThat(taskStatsService.getStats().total()).isEqualTo(totalBefore);
+    }
+
+    @Test
+    void taskChangedAfterItWasCopiedStaysHot() {
+        Long id = oldDone1.getId();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(archivedTaskRepository.copyFromTasks(List.of(id), cutoff, LocalDateTime.now())).isEqualTo(1);
+            jdbcTemplate.update("UPDATE tasks SET version = version + 1 WHERE id = ?", id);
+            assertThat(taskRepository.deleteArchived(List.of(id))).isZero();
+            assertThat(archivedTaskRepository.deleteStillLive(List.of(id))).isEqualTo(1);
+        });
+
+        assertThat(taskRepository.existsById(id)).isTrue();
+        assertThat(archivedTaskRepository.existsById(id)).isFalse();
+    }
+
+    @Test
+    void archivedTasksAreOnlyReturnedWhenAskedFor() throws Exception {
+        taskArchiveService.archiveCompletedTasks();
+
+        mockMvc.perform(get("/api/tasks/{id}", oldDone1.getId()).with(user(UserPrincipal.create(member))))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tasks/{id}", oldDone1.getId())
+                        .param("includeArchived", "true")
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Done long ago 1"))
+                .andExpect(jsonPath("$.status").value("DONE"));
+
+        mockMvc.perform(get("/api/tasks").with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(get("/api/tasks").param("includeArchived", "true").with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5));
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "DONE")
+                        .param("includeArchived", "true")
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(jsonPath("$.length()").value(4));
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "TODO")
+                        .param("includeArchived", "true")
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(jsonPath("$.length()").value(1));
+        mockMvc.perform(get("/api/tasks")
+                        .param("assigneeId", member.getId().toString())
+                        .param("includeArchived", "true")
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(jsonPath("$.length()").value(2));
+
+        String hotETag = mockMvc.perform(get("/api/tasks").with(user(UserPrincipal.create(member))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String allETag = mockMvc.perform(get("/api/tasks").param("includeArchived", "true")
+                        .with(user(UserPrincipal.create(member))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(allETag).isNotEqualTo(hotETag);
+    }
+
+    @Test
+    void pagesInterleaveHotAndArchivedTasksNewestFirst() throws Exception {
+        taskArchiveService.archiveCompletedTasks();
+
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            var request = get("/api/tasks")
+                    .param("limit", "2")
+                    .param("includeArchived", "true")
+                    .with(user(UserPrincipal.create(admin)));
+            if (after != null) {
+                request.param("after", after);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+            after = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (after != null && pages < 10);
+
+        assertThat(ids).containsExactly(recentDone.getId(), oldDone3.getId(), oldDone2.getId(),
+                oldDone1.getId(), oldTodo.getId());
+        assertThat(pages).isEqualTo(3);
+    }
+
+    private Task saveTask(String title, TaskStatus taskStatus, User assignee, LocalDateTime updatedAt) {
+        return taskRepository.save(Task.builder()
+                .title(title)
+                .status(taskStatus)
+                .priority(TaskPriority.MEDIUM)
+                .creator(admin)
+                .assignee(assignee)
+                .createdAt(updatedAt)
+                .updatedAt(updatedAt)
+                .build());
+    }
+}
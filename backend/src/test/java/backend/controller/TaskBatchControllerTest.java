@@ -0,0 +1,204 @@
+package backend.controller;
+
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Role;
+import backend.model.Task;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskBatchControllerTest {
+
+    private static final String LONG_TITLE = "x".repeat(256);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User member;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.findByName(RoleName.USER)
+                .orElseGet(() -> roleRepository.save(new Role(null, RoleName.USER)));
+        member = userRepository.save(User.builder()
+                .fullName("batch-member")
+                .username("batch-member")
+                .email("batch-member@example.com")
+                .password("not-a-hash")
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        userRepository.delete(member);
+    }
+
+    @Test
+    void createReportsAnOutcomePerItem() throws Exception {
+        List<Object> items = new ArrayList<>();
+        items.add(task("Valid", "TODO", member.getId()));
+        items.add(task("   ", "TODO", null));
+        items.add(task(LONG_TITLE, "TODO", null));
+        items.add(task("No status", null, null));
+        items.add(task("Unknown assignee", "TODO", Long.MAX_VALUE));
+        items.add(null);
+
+        JsonNode response = perform(post("/api/tasks/batch"), items);
+
+        assertThat(response.get("succeeded").asInt()).isEqualTo(1);
+        assertThat(response.get("failed").asInt()).isEqualTo(5);
+        assertThat(statuses(response)).containsExactly(201, 400, 400, 400, 404, 400);
+        JsonNode results = response.get("results");
+        assertThat(results.get(0).get("task").get("assignee").get("id").asLong()).isEqualTo(member.getId());
+        assertThat(results.get(1).get("error").asText()).isEqualTo("title must not be blank");
+        assertThat(results.get(2).get("error").asText()).startsWith("title size must be between");
+        assertThat(results.get(3).get("error").asText()).isEqualTo("status must not be null");
+        assertThat(taskRepository.findAll())
+                .extracting(Task::getTitle)
+                .containsExactly("Valid");
+    }
+
+    @Test
+    void updateAppliesValidItemsAndLeavesTheRestUntouched() throws Exception {
+        Task first = save("First");
+        Task second = save("Second");
+
+        List<Object> items = new ArrayList<>();
+        items.add(Map.of("id", first.getId(), "status", "DONE", "assigneeId", member.getId()));
+        items.add(Map.of("id", second.getId(), "title", " "));
+        items.add(Map.of("id", second.getId(), "title", LONG_TITLE));
+        items.add(Map.of("id", Long.MAX_VALUE, "status", "DONE"));
+        items.add(Map.of("status", "DONE"));
+        items.add(Map.of("id", second.getId(), "assigneeId", Long.MAX_VALUE));
+
+        JsonNode response = perform(patch("/api/tasks/batch"), items);
+
+        assertThat(statuses(response)).containsExactly(200, 400, 400, 404, 400, 404);
+        assertThat(response.get("results").get(0).get("task").get("version").asLong()).isEqualTo(1);
+        Task updatedFirst = taskRepository.findById(first.getId()).orElseThrow();
+        assertThat(updatedFirst.getStatus()).isEqualTo(TaskStatus.DONE);
+        Task untouched = taskRepository.findById(second.getId()).orElseThrow();
+        assertThat(untouched.getTitle()).isEqualTo("Second");
+        assertThat(untouched.getVersion()).isZero();
+    }
+
+    @Test
+    void emptyBatchIsRejected() throws Exception {
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void largeBatchIsInsertedInJdbcBatchesWithPooledIds() throws Exception {
+        int size = 3 * Task.ID_ALLOCATION_SIZE;
+        List<Object> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(task("Bulk " + i, "TODO", null));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        JsonNode response = perform(post("/api/tasks/batch"), items);
+
+        assertThat(response.get("succeeded").asInt()).isEqualTo(size);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(size);
+        // Creator lookup, at most four sequence blocks and one statement per JDBC batch of 50,
+        // instead of one round trip per row.
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + 4 + 3);
+        List<Long> ids = new ArrayList<>();
+        response.get("results").forEach(result -> ids.add(result.get("task").get("id").asLong()));
+        assertThat(ids).doesNotHaveDuplicates().hasSize(size);
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request, List<Object> items) throws Exception {
+        String body = mockMvc.perform(request
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items))
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(items.size()))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<Integer> statuses(JsonNode response) {
+        List<Integer> statuses = new ArrayList<>();
+        response.get("results").forEach(result -> statuses.add(result.get("status").asInt()));
+        return statuses;
+    }
+
+    private static Map<String, Object> task(String title, String status, Long assigneeId) {
+        Map<String, Object> task = new HashMap<>();
+        task.put("title", title);
+        task.put("status", status);
+        task.put("priority", "MEDIUM");
+        task.put("assigneeId", assigneeId);
+        return task;
+    }
+
+    private Task save(String title) {
+        LocalDateTime now = LocalDateTime.now();
+        return taskRepository.save(Task.builder()
+                .title(title)
+                .status(TaskStatus.TODO)
+                .priority(TaskPriority.LOW)
+                .creator(member)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+}
@@ -0,0 +1,260 @@
+package backend.controller;
+
+import backend.TaskApplication;
+import backend.dto.TaskCursor;
+import backend.dto.TaskRequest;
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Task;
+import backend.model.TaskTombstone;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.TaskTombstoneRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import backend.service.impl.TaskImportServiceImpl;
+import backend.service.impl.TaskServiceImpl;
+import backend.support.TestUsers;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Delta sync over GET /api/tasks/changes: upserts and tombstones come back as one stream ordered
+ * by (timestamp, id), nothing newer than the settle-time horizon is handed out, and a client
+ * that is caught up gets a watermark cursor at that horizon.
+ */
+@SpringBootTest(properties = {
+        "app.tasks.changes.settle-time=2s",
+        "app.tasks.changes.write-timeout-seconds=1"
+})
+@AutoConfigureMockMvc
+class TaskChangesControllerTest {
+
+    private static final Duration SETTLE_TIME = Duration.ofSeconds(2);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private TransactionAttributeSource transactionAttributeSource;
+
+    @Autowired
+    private TaskImportServiceImpl taskImportService;
+
+    private TestUsers users;
+    private User member;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(roleRepository, userRepository);
+        member = users.create("changes-member", RoleName.USER);
+        admin = users.create("changes-admin", RoleName.ADMIN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tombstoneRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        users.deleteAll();
+    }
+
+    @Test
+    void initialSyncReturnsEveryTaskOldestFirstAndNoDeletes() throws Exception {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Task newest = saveTask("Newest", now.minusMinutes(1));
+        Task oldest = saveTask("Oldest", now.minusMinutes(3));
+        Task middle = saveTask("Middle", now.minusMinutes(2));
+        tombstoneRepository.save(new TaskTombstone(oldest.getId() + 1000, now.minusMinutes(2)));
+
+        JsonNode page = changes(get("/api/tasks/changes"));
+
+        assertThat(changedIds(page)).containsExactly(oldest.getId(), middle.getId(), newest.getId());
+        assertThat(page.get("deleted")).isEmpty();
+        assertThat(page.get("hasMore").asBoolean()).isFalse();
+    }
+
+    @Test
+    void pagesMergeUpsertsAndTombstonesInTimestampOrder() throws Exception {
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS).minusMinutes(10);
+        Task first = saveTask("First", base.plusMinutes(1));
+        tombstoneRepository.save(new TaskTombstone(first.getId() + 1000, base.plusMinutes(2)));
+        Task tied = saveTask("Tied with a delete", base.plusMinutes(3));
+        // Same timestamp as the task above but a higher id, so it sorts after it.
+        tombstoneRepository.save(new TaskTombstone(tied.getId() + 2000, base.plusMinutes(3)));
+        Task last = saveTask("Last", base.plusMinutes(4));
+
+        List<String> entries = new ArrayList<>();
+        List<JsonNode> pages = new ArrayList<>();
+        String cursor = new TaskCursor(base, 0L).encode();
+        JsonNode page;
+        do {
+            assertThat(pages).as("pages before hasMore cleared").hasSizeLessThan(10);
+            page = changes(get("/api/tasks/changes").param("since", cursor).param("limit", "2"));
+            pages.add(page);
+            page.get("changed").forEach(task -> entries.add("changed " + task.get("id").asLong()));
+            page.get("deleted").forEach(id -> entries.add("deleted " + id.asLong()));
+            cursor = page.get("nextCursor").asText();
+        } while (page.get("hasMore").asBoolean());
+
+        // Within a page the two lists are split, so the order across them shows up page by page.
+        assertThat(pages).extracting(p -> p.get("hasMore").asBoolean()).containsExactly(true, true, false);
+        assertThat(entries).containsExactly(
+                "changed " + first.getId(),
+                "deleted " + (first.getId() + 1000),
+                "changed " + tied.getId(),
+                "deleted " + (tied.getId() + 2000),
+                "changed " + last.getId());
+    }
+
+    @Test
+    void caughtUpClientGetsTheSettledHorizonAsItsWatermark() throws Exception {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Task settled = saveTask("Settled", now.minusMinutes(1));
+        Task recent = saveTask("Still settling", now);
+
+        LocalDateTime before = LocalDateTime.now();
+        JsonNode page = changes(get("/api/tasks/changes"));
+        LocalDateTime after = LocalDateTime.now();
+
+        assertThat(changedIds(page)).containsExactly(settled.getId());
+        assertThat(page.get("hasMore").asBoolean()).isFalse();
+        TaskCursor watermark = TaskCursor.decode(page.get("nextCursor").asText());
+        assertThat(watermark.id()).isEqualTo(Long.MAX_VALUE);
+        assertThat(watermark.updatedAt()).isBetween(before.minus(SETTLE_TIME), after.minus(SETTLE_TIME));
+
+        // Once the horizon has passed it, the recent change is the only thing after the watermark.
+        Thread.sleep(SETTLE_TIME.toMillis() + 200);
+        JsonNode next = changes(get("/api/tasks/changes").param("since", page.get("nextCursor").asText()));
+        assertThat(changedIds(next)).containsExactly(recent.getId());
+
+        // A cursor ahead of the horizon is handed back unchanged rather than moved backwards.
+        String ahead = new TaskCursor(LocalDateTime.now().plusMinutes(1), 7L).encode();
+        assertThat(changes(get("/api/tasks/changes").param("since", ahead)).get("nextCursor").asText())
+                .isEqualTo(ahead);
+    }
+
+    @Test
+    void deletedTasksShowUpAsIdsOnceSettled() throws Exception {
+        Task task = saveTask("Doomed", LocalDateTime.now().truncatedTo(ChronoUnit.MICROS).minusMinutes(1));
+        String cursor = changes(get("/api/tasks/changes")).get("nextCursor").asText();
+
+        mockMvc.perform(delete("/api/tasks/{id}", task.getId()).with(user(UserPrincipal.create(admin))))
+                .andExpect(status().isNoContent());
+
+        JsonNode settling = changes(get("/api/tasks/changes").param("since", cursor));
+        assertThat(settling.get("deleted")).isEmpty();
+
+        Thread.sleep(SETTLE_TIME.toMillis() + 200);
+        JsonNode settled = changes(get("/api/tasks/changes").param("since", cursor));
+        assertThat(settled.get("changed")).isEmpty();
+        assertThat(settled.get("deleted")).extracting(JsonNode::asLong).containsExactly(task.getId());
+    }
+
+    @Test
+    void cursorOlderThanTombstoneRetentionIsGone() throws Exception {
+        String stale = new TaskCursor(LocalDateTime.now().minusDays(31), 1L).encode();
+
+        mockMvc.perform(get("/api/tasks/changes").param("since", stale).with(user(UserPrincipal.create(member))))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void taskWritesAreBoundedByTheWriteTimeout() throws Exception {
+        for (Method method : List.of(
+                TaskServiceImpl.class.getMethod("createTask", TaskRequest.class, UserPrincipal.class),
+                TaskServiceImpl.class.getMethod("createTasks", List.class, UserPrincipal.class),
+                TaskServiceImpl.class.getMethod("updateTasks", List.class, UserPrincipal.class),
+                TaskServiceImpl.class.getMethod("deleteTask", Long.class, UserPrincipal.class))) {
+            assertThat(transactionAttributeSource.getTransactionAttribute(method, TaskServiceImpl.class).getTimeout())
+                    .as(method.getName())
+                    .isEqualTo(1);
+        }
+        TaskImportServiceImpl importService = AopTestUtils.getTargetObject(taskImportService);
+        TransactionTemplate chunks = (TransactionTemplate) ReflectionTestUtils.getField(importService, "transactionTemplate");
+        assertThat(chunks.getTimeout()).isEqualTo(1);
+    }
+
+    @Test
+    void writeTimeoutNotBelowSettleTimeFailsStartup() {
+        // Arguments, not default properties: application.yml would override the latter.
+        assertThatThrownBy(() -> new SpringApplicationBuilder(TaskApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:changes-startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "--app.tasks.changes.settle-time=2s",
+                        "--app.tasks.changes.write-timeout-seconds=2")
+                .close())
+                .satisfies(e -> assertThat(NestedExceptionUtils.getMostSpecificCause(e))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("write-timeout-seconds"));
+    }
+
+    private JsonNode changes(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request.with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<Long> changedIds(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.get("changed").forEach(task -> ids.add(task.get("id").asLong()));
+        return ids;
+    }
+
+    private Task saveTask(String title, LocalDateTime updatedAt) {
+        return taskRepository.save(Task.builder()
+                .title(title)
+                .status(TaskStatus.TODO)
+                .priority(TaskPriority.MEDIUM)
+                .creator(admin)
+                .createdAt(updatedAt)
+                .updatedAt(updatedAt)
+                .build());
+    }
+}
@@ -0,0 +1,223 @@
+package backend.controller;
+
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Role;
+import backend.model.Task;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import backend.support.QueryBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskConcurrencyControllerTest {
+
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User member;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.findByName(RoleName.USER)
+                .orElseGet(() -> roleRepository.save(new Role(null, RoleName.USER)));
+        member = userRepository.save(User.builder()
+                .fullName("occ-member")
+                .username("occ-member")
+                .email("occ-member@example.com")
+                .password("not-a-hash")
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        task = taskRepository.save(Task.builder()
+                .title("Contended")
+                .description("Original")
+                .status(TaskStatus.TODO)
+                .priority(TaskPriority.LOW)
+                .creator(member)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        userRepository.delete(member);
+    }
+
+    @Test
+    void updateWithoutIfMatchIsLastWriterWins() throws Exception {
+        mockMvc.perform(statusChange("IN_PROGRESS"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag(1)))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    void matchingIfMatchUpdatesAndReturnsTheNewETag() throws Exception {
+        mockMvc.perform(detailsChange().header(HttpHeaders.IF_MATCH, eTag(0)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag(1)))
+                .andExpect(jsonPath("$.title").value("Renamed"))
+                .andExpect(jsonPath("$.creator.email").value("occ-member@example.com"));
+
+        Task stored = taskRepository.findById(task.getId()).orElseThrow();
+        assertThat(stored.getTitle()).isEqualTo("Renamed");
+        assertThat(stored.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void staleIfMatchIsRejectedAndChangesNothing() throws Exception {
+        mockMvc.perform(statusChange("DONE")).andExpect(status().isOk());
+
+        mockMvc.perform(statusChange("IN_PROGRESS").header(HttpHeaders.IF_MATCH, eTag(0)))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(detailsChange().header(HttpHeaders.IF_MATCH, eTag(0)))
+                .andExpect(status().isPreconditionFailed());
+
+        Task stored = taskRepository.findById(task.getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(stored.getTitle()).isEqualTo("Contended");
+        assertThat(stored.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void ifMatchForAnotherTaskOrAWeakTagIsRejected() throws Exception {
+        mockMvc.perform(statusChange("DONE").header(HttpHeaders.IF_MATCH, "\"" + (task.getId() + 1) + "-0\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(statusChange("DONE").header(HttpHeaders.IF_MATCH, "W/" + eTag(0)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateOfAMissingTaskIsNotFound() throws Exception {
+        mockMvc.perform(patch("/api/tasks/{id}/status", Long.MAX_VALUE)
+                        .param("status", "DONE")
+                        .header(HttpHeaders.IF_MATCH, "\"" + Long.MAX_VALUE + "-0\"")
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void concurrentWritersWithTheSameIfMatchHaveExactlyOneWinner() throws Exception {
+        List<Integer> statuses = race(i -> statusChange(i % 2 == 0 ? "DONE" : "IN_PROGRESS")
+                .header(HttpHeaders.IF_MATCH, eTag(0)));
+
+        assertThat(statuses).filteredOn(status -> status == 200).hasSize(1);
+        assertThat(statuses).filteredOn(status -> status == 412).hasSize(WRITERS - 1);
+        assertThat(taskRepository.findById(task.getId()).orElseThrow().getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentWritersWithoutIfMatchAllApplyInTurn() throws Exception {
+        List<Integer> statuses = race(i -> statusChange(i % 2 == 0 ? "DONE" : "IN_PROGRESS"));
+
+        assertThat(statuses).containsOnly(200);
+        assertThat(taskRepository.findById(task.getId()).orElseThrow().getVersion()).isEqualTo(WRITERS);
+    }
+
+    @Test
+    void conditionalUpdatesReadOnceAndWriteOnce() throws Exception {
+        // Row read + conditional update; no read-back for the response.
+        QueryBudget.atMost(2).perform(mockMvc, statusChange("DONE").header(HttpHeaders.IF_MATCH, eTag(0)))
+                .andExpect(status().isOk());
+        QueryBudget.atMost(2).perform(mockMvc, detailsChange().header(HttpHeaders.IF_MATCH, eTag(1)))
+                .andExpect(status().isOk());
+        // A stale tag is refused after the read alone.
+        QueryBudget.atMost(1).perform(mockMvc, statusChange("TODO").header(HttpHeaders.IF_MATCH, eTag(0)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private List<Integer> race(RequestFactory requests) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                MockHttpServletRequestBuilder request = requests.create(i);
+                results.add(pool.submit((Callable<Integer>) () -> {
+                    start.await();
+                    MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+                    return response.getStatus();
+                }));
+            }
+            start.countDown();
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> result : results) {
+                statuses.add(result.get());
+            }
+            return statuses;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private MockHttpServletRequestBuilder statusChange(String status) {
+        return patch("/api/tasks/{id}/status", task.getId())
+                .param("status", status)
+                .with(user(UserPrincipal.create(member)));
+    }
+
+    private MockHttpServletRequestBuilder detailsChange() {
+        return put("/api/tasks/{id}", task.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Renamed\",\"description\":\"Changed\",\"status\":\"TODO\",\"priority\":\"HIGH\"}")
+                .with(user(UserPrincipal.create(member)));
+    }
+
+    private String eTag(long version) {
+        return "\"" + task.getId() + "-" + version + "\"";
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        MockHttpServletRequestBuilder create(int index);
+    }
+}
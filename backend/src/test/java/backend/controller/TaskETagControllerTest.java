@@ -0,0 +1,173 @@
+package backend.controller;
+
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Role;
+import backend.model.Task;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskETagControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User member;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.findByName(RoleName.USER)
+                .orElseGet(() -> roleRepository.save(new Role(null, RoleName.USER)));
+        member = userRepository.save(User.builder()
+                .fullName("etag-member")
+                .username("etag-member")
+                .email("etag-member@example.com")
+                .password("not-a-hash")
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        task = taskRepository.save(Task.builder()
+                .title("Cached")
+                .status(TaskStatus.TODO)
+                .priority(TaskPriority.LOW)
+                .creator(member)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        userRepository.delete(member);
+    }
+
+    @Test
+    void unchangedListIsAnsweredWithNotModified() throws Exception {
+        String eTag = listETag();
+
+        mockMvc.perform(get("/api/tasks")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void listETagChangesAfterEachWrite() throws Exception {
+        String initial = listETag();
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Second\",\"status\":\"TODO\",\"priority\":\"LOW\"}")
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isCreated());
+        String afterCreate = listETag();
+        assertThat(afterCreate).isNotEqualTo(initial);
+        mockMvc.perform(get("/api/tasks")
+                        .header(HttpHeaders.IF_NONE_MATCH, initial)
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/tasks/{id}/status", task.getId())
+                        .param("status", "DONE")
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk());
+        String afterUpdate = listETag();
+        assertThat(afterUpdate).isNotEqualTo(afterCreate);
+
+        mockMvc.perform(delete("/api/tasks/{id}", task.getId())
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isNoContent());
+        assertThat(listETag()).isNotEqualTo(afterUpdate);
+    }
+
+    @Test
+    void filteredListsAndPagesHaveTheirOwnETags() throws Exception {
+        String all = listETag();
+        String todo = mockMvc.perform(get("/api/tasks").param("status", "TODO")
+                        .with(user(UserPrincipal.create(member))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String page = mockMvc.perform(get("/api/tasks").param("limit", "10")
+                        .with(user(UserPrincipal.create(member))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(todo).isNotEqualTo(all);
+        assertThat(page).isNotEqualTo(all).isNotEqualTo(todo);
+        mockMvc.perform(get("/api/tasks").param("limit", "10")
+                        .header(HttpHeaders.IF_NONE_MATCH, page)
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void singleTaskETagFollowsItsVersion() throws Exception {
+        String eTag = "\"" + task.getId() + "-0\"";
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+        mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/tasks/{id}/status", task.getId())
+                        .param("status", "IN_PROGRESS")
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + task.getId() + "-1\""));
+    }
+
+    private String listETag() throws Exception {
+        String eTag = mockMvc.perform(get("/api/tasks").with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotBlank();
+        return eTag;
+    }
+}
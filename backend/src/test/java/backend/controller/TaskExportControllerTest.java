@@ -0,0 +1,138 @@
+package backend.controller;
+
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Role;
+import backend.model.Task;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskExportControllerTest {
+
+    private static final int TASKS = 1_200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User member;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.findByName(RoleName.USER)
+                .orElseGet(() -> roleRepository.save(new Role(null, RoleName.USER)));
+        member = userRepository.save(User.builder()
+                .fullName("export-member")
+                .username("export-member")
+                .email("export-member@example.com")
+                .password("not-a-hash")
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        // More rows than the fetch size, so the export crosses several cursor fetches.
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(Task.builder()
+                    .title("Export task " + i)
+                    .status(i % 2 == 0 ? TaskStatus.TODO : TaskStatus.DONE)
+                    .priority(TaskPriority.LOW)
+                    .creator(member)
+                    .assignee(i % 3 == 0 ? member : null)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        userRepository.delete(member);
+    }
+
+    @Test
+    void exportsOneJsonObjectPerLineByDefault() throws Exception {
+        String body = export("/api/tasks/export")
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(body).endsWith("\n");
+        assertThat(lines).hasSize(TASKS);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("title").asText()).isEqualTo("Export task 0");
+        assertThat(first.get("creator").get("email").asText()).isEqualTo("export-member@example.com");
+        assertThat(first.get("createdAt").isTextual()).isTrue();
+    }
+
+    @Test
+    void exportsAJsonArrayFilteredLikeTheList() throws Exception {
+        String body = export("/api/tasks/export?format=json&status=DONE")
+                .andExpect(content().contentType("application/json"))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode tasks = objectMapper.readTree(body);
+        assertThat(tasks.isArray()).isTrue();
+        assertThat(tasks).hasSize(TASKS / 2);
+        assertThat(tasks).allSatisfy(task -> assertThat(task.get("status").asText()).isEqualTo("DONE"));
+    }
+
+    @Test
+    void rejectsUnknownFormats() throws Exception {
+        mockMvc.perform(get("/api/tasks/export?format=xml").with(user(UserPrincipal.create(member))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions export(String uri) throws Exception {
+        MvcResult started = mockMvc.perform(get(uri).with(user(UserPrincipal.create(member))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk());
+    }
+}
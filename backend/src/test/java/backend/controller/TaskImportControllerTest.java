@@ -0,0 +1,171 @@
+package backend.controller;
+
+import backend.enums.RoleName;
+import backend.enums.TaskStatus;
+import backend.model.Role;
+import backend.model.Task;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.tasks.imports.chunk-size=4")
+@AutoConfigureMockMvc
+class TaskImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final List<User> createdUsers = new ArrayList<>();
+    private User importer;
+
+    @BeforeEach
+    void setUp() {
+        importer = createUser("importer");
+        createUser("assignee");
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch(createdUsers);
+        createdUsers.clear();
+    }
+
+    @Test
+    void importsValidCsvRowsAndReportsTheRest() throws Exception {
+        StringBuilder csv = new StringBuilder("title,description,status,priority,assigneeEmail\n");
+        for (int i = 0; i < 10; i++) {
+            csv.append("Imported ").append(i).append(",\"Row, with comma\",IN_PROGRESS,high,assignee@example.com\n");
+        }
+        csv.append(",No title,TODO,LOW,\n");
+        csv.append("Bad status,,SOMEDAY,LOW,\n");
+        csv.append("Unknown assignee,,TODO,LOW,nobody@example.com\n");
+
+        JsonNode finished = runImport(new MockMultipartFile("file", "tasks.csv", "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(finished.get("state").asText()).isEqualTo("COMPLETED");
+        assertThat(finished.get("processed").asLong()).isEqualTo(13);
+        assertThat(finished.get("imported").asLong()).isEqualTo(10);
+        assertThat(finished.get("rejected").asLong()).isEqualTo(3);
+
+        List<Task> tasks = taskRepository.findAll();
+        assertThat(tasks).hasSize(10).allSatisfy(task -> {
+            assertThat(task.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+            assertThat(task.getDescription()).isEqualTo("Row, with comma");
+        });
+
+        String report = mockMvc.perform(get("/api/tasks/imports/{id}/rejected", finished.get("id").asText())
+                        .with(user(UserPrincipal.create(importer))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> lines = report.lines().toList();
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).isEqualTo("row,error,title,assigneeEmail");
+        assertThat(lines.get(1)).startsWith("11,").contains("title must not be blank");
+        assertThat(lines.get(2)).startsWith("12,").contains("Invalid TaskStatus: SOMEDAY");
+        assertThat(lines.get(3)).startsWith("13,").contains("Unknown assignee: nobody@example.com");
+    }
+
+    @Test
+    void importsNdjsonAndSkipsMalformedLines() throws Exception {
+        String ndjson = """
+                {"title":"First","priority":"LOW","assigneeEmail":"assignee@example.com"}
+                {"title":"Second","status":"DONE"}
+                {not json
+
+                {"title":"Third","extra":"ignored"}
+                """;
+
+        JsonNode finished = runImport(new MockMultipartFile("file", "tasks.ndjson", "application/x-ndjson",
+                ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(finished.get("state").asText()).isEqualTo("COMPLETED");
+        assertThat(finished.get("imported").asLong()).isEqualTo(3);
+        assertThat(finished.get("rejected").asLong()).isEqualTo(1);
+        assertThat(taskRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void otherUsersCannotSeeAnImport() throws Exception {
+        JsonNode finished = runImport(new MockMultipartFile("file", "tasks.csv", "text/csv",
+                "title\nOnly\n".getBytes(StandardCharsets.UTF_8)));
+
+        User other = createUser("someone-else");
+        mockMvc.perform(get("/api/tasks/imports/{id}", finished.get("id").asText())
+                        .with(user(UserPrincipal.create(other))))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode runImport(MockMultipartFile file) throws Exception {
+        String started = mockMvc.perform(multipart("/api/tasks/imports")
+                        .file(file)
+                        .with(user(UserPrincipal.create(importer))))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(started).get("id").asText();
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            JsonNode progress = objectMapper.readTree(mockMvc.perform(get("/api/tasks/imports/{id}", id)
+                            .with(user(UserPrincipal.create(importer))))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if (!"RUNNING".equals(progress.get("state").asText())) {
+                return progress;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Import " + id + " did not finish in time");
+    }
+
+    private User createUser(String name) {
+        Role role = roleRepository.findByName(RoleName.USER)
+                .orElseGet(() -> roleRepository.save(new Role(null, RoleName.USER)));
+        User user = userRepository.save(User.builder()
+                .fullName(name)
+                .username(name)
+                .email(name + "@example.com")
+                .password("not-a-hash")
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .build());
+        createdUsers.add(user);
+        return user;
+    }
+}
@@ -0,0 +1,224 @@
+package backend.controller;
+
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Task;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import backend.support.TestUsers;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset pagination over GET /api/tasks?limit=...: following nextCursor until it runs out must
+ * visit every matching task exactly once, newest first, with ties on updated_at broken by id.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskPaginationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private TestUsers users;
+    private User member;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(roleRepository, userRepository);
+        member = users.create("paging-member", RoleName.USER);
+        admin = users.create("paging-admin", RoleName.ADMIN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        users.deleteAll();
+    }
+
+    @Test
+    void cursorRoundTripVisitsEveryTaskOnceNewestFirst() throws Exception {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            tasks.add(saveTask("Task " + i, TaskStatus.TODO, null, now.minusMinutes(i)));
+        }
+
+        List<JsonNode> pages = walk(() -> get("/api/tasks").param("limit", "3"));
+
+        assertThat(pages).extracting(page -> page.get("items").size()).containsExactly(3, 3, 1);
+        assertThat(idsOf(pages)).containsExactlyElementsOf(tasks.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void tasksSharingUpdatedAtAreOrderedByIdAcrossPages() throws Exception {
+        LocalDateTime sameInstant = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(saveTask("Tied " + i, TaskStatus.TODO, null, sameInstant).getId());
+        }
+        Task newer = saveTask("Newer", TaskStatus.TODO, null, sameInstant.plusSeconds(1));
+        Task older = saveTask("Older", TaskStatus.TODO, null, sameInstant.minusSeconds(1));
+
+        List<JsonNode> pages = walk(() -> get("/api/tasks").param("limit", "2"));
+
+        List<Long> expected = new ArrayList<>();
+        expected.add(newer.getId());
+        ids.stream().sorted(Comparator.reverseOrder()).forEach(expected::add);
+        expected.add(older.getId());
+        assertThat(pages).hasSize(4);
+        assertThat(idsOf(pages)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void filteredPagesOnlyWalkMatchingTasks() throws Exception {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Long> matching = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Task task = saveTask("Task " + i, i % 2 == 0 ? TaskStatus.TODO : TaskStatus.DONE,
+                    i < 4 ? member : null, now.minusMinutes(i));
+            if (task.getStatus() == TaskStatus.TODO && task.getAssignee() != null) {
+                matching.add(task.getId());
+            }
+        }
+
+        List<JsonNode> pages = walk(() -> get("/api/tasks")
+                .param("limit", "1")
+                .param("status", "TODO")
+                .param("assigneeId", member.getId().toString()));
+
+        assertThat(idsOf(pages)).containsExactlyElementsOf(matching);
+    }
+
+    @Test
+    void lastPageHasNoCursor() throws Exception {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        for (int i = 0; i < 4; i++) {
+            saveTask("Task " + i, TaskStatus.TODO, null, now.minusMinutes(i));
+        }
+
+        // Exactly a page's worth left: the extra row fetched to detect a next page is not there.
+        JsonNode exact = page(get("/api/tasks").param("limit", "4"));
+        assertThat(exact.get("items").size()).isEqualTo(4);
+        assertThat(exact.hasNonNull("nextCursor")).isFalse();
+
+        JsonNode first = page(get("/api/tasks").param("limit", "3"));
+        assertThat(first.hasNonNull("nextCursor")).isTrue();
+        JsonNode last = page(get("/api/tasks").param("limit", "3")
+                .param("after", first.get("nextCursor").asText()));
+        assertThat(last.get("items").size()).isEqualTo(1);
+        assertThat(last.hasNonNull("nextCursor")).isFalse();
+
+        JsonNode none = page(get("/api/tasks").param("limit", "3").param("status", "DONE"));
+        assertThat(none.get("items").size()).isZero();
+        assertThat(none.hasNonNull("nextCursor")).isFalse();
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        saveTask("Task", TaskStatus.TODO, null, LocalDateTime.now());
+
+        for (String cursor : List.of(
+                "not a cursor!",
+                encode("no-separator"),
+                encode("yesterday|12"),
+                encode(LocalDateTime.now() + "|twelve"))) {
+            mockMvc.perform(get("/api/tasks")
+                            .param("limit", "3")
+                            .param("after", cursor)
+                            .with(user(UserPrincipal.create(member))))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void limitOutOfRangeIsABadRequest() throws Exception {
+        for (String limit : List.of("0", "-1", "100000")) {
+            mockMvc.perform(get("/api/tasks").param("limit", limit).with(user(UserPrincipal.create(member))))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    // Follows nextCursor from the first page until a page comes back without one.
+    private List<JsonNode> walk(Supplier<MockHttpServletRequestBuilder> request) throws Exception {
+        List<JsonNode> pages = new ArrayList<>();
+        JsonNode page = page(request.get());
+        pages.add(page);
+        while (page.hasNonNull("nextCursor")) {
+            assertThat(pages).as("pages before the cursor ran out").hasSizeLessThan(20);
+            page = page(request.get().param("after", page.get("nextCursor").asText()));
+            pages.add(page);
+        }
+        return pages;
+    }
+
+    private JsonNode page(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request.with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<Long> idsOf(List<JsonNode> pages) {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode page : pages) {
+            page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+        }
+        return ids;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Task saveTask(String title, TaskStatus status, User assignee, LocalDateTime updatedAt) {
+        return taskRepository.save(Task.builder()
+                .title(title)
+                .status(status)
+                .priority(TaskPriority.MEDIUM)
+                .assignee(assignee)
+                .creator(admin)
+                .createdAt(updatedAt)
+                .updatedAt(updatedAt)
+                .build());
+    }
+}
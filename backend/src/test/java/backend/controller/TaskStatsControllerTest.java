@@ -0,0 +1,225 @@
+package backend.controller;
+
+import backend.dto.TaskStatsResponse;
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Task;
+import backend.model.User;
+import backend.repository.ArchivedTaskRepository;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import backend.service.TaskArchiveService;
+import backend.service.TaskStatsService;
+import backend.support.TestUsers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Every test starts from a reconcile, so counts are compared with that baseline.
+@SpringBootTest(properties = {
+        "app.tasks.archive.after=30d",
+        "app.tasks.archive.pause=0ms"
+})
+@AutoConfigureMockMvc
+class TaskStatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestUsers users;
+    private User member;
+    private User admin;
+    private TaskStatsResponse baseline;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        users = new TestUsers(roleRepository, userRepository);
+        member = users.create("stats-member", RoleName.USER);
+        admin = users.create("stats-admin", RoleName.ADMIN);
+        taskStatsService.reconcile();
+        baseline = stats();
+    }
+
+    @AfterEach
+    void tearDown() {
+        archivedTaskRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        users.deleteAll();
+        taskStatsService.reconcile();
+    }
+
+    @Test
+    void countersFollowCreateStatusChangeUpdateAndDelete() throws Exception {
+        String created = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title":"Counted","status":"TODO","priority":"HIGH","assigneeId":%d}
+                                """.formatted(member.getId()))
+                        .with(user(UserPrincipal.create(admin))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+
+        TaskStatsResponse afterCreate = stats();
+        assertThat(afterCreate.total()).isEqualTo(baseline.total() + 1);
+        assertThat(statusDelta(afterCreate, TaskStatus.TODO)).isEqualTo(1);
+        assertThat(priorityDelta(afterCreate, TaskPriority.HIGH)).isEqualTo(1);
+        assertThat(afterCreate.byAssignee()).containsEntry(member.getId(), 1L);
+
+        mockMvc.perform(patch("/api/tasks/{id}/status", id)
+                        .param("status", "IN_PROGRESS")
+                        .with(user(UserPrincipal.create(admin))))
+                .andExpect(status().isOk());
+
+        TaskStatsResponse afterStatusChange = stats();
+        assertThat(afterStatusChange.total()).isEqualTo(baseline.total() + 1);
+        assertThat(statusDelta(afterStatusChange, TaskStatus.TODO)).isZero();
+        assertThat(statusDelta(afterStatusChange, TaskStatus.IN_PROGRESS)).isEqualTo(1);
+
+        mockMvc.perform(put("/api/tasks/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title":"Counted","status":"IN_PROGRESS","priority":"LOW","assigneeId":%d}
+                                """.formatted(admin.getId()))
+                        .with(user(UserPrincipal.create(admin))))
+                .andExpect(status().isOk());
+
+        TaskStatsResponse afterUpdate = stats();
+        assertThat(priorityDelta(afterUpdate, TaskPriority.HIGH)).isZero();
+        assertThat(priorityDelta(afterUpdate, TaskPriority.LOW)).isEqualTo(1);
+        assertThat(afterUpdate.byAssignee())
+                .doesNotContainKey(member.getId())
+                .containsEntry(admin.getId(), 1L);
+
+        mockMvc.perform(delete("/api/tasks/{id}", id).with(user(UserPrincipal.create(admin))))
+                .andExpect(status().isNoContent());
+
+        TaskStatsResponse afterDelete = stats();
+        assertThat(afterDelete.total()).isEqualTo(baseline.total());
+        assertThat(afterDelete.byStatus()).isEqualTo(baseline.byStatus());
+        assertThat(afterDelete.byPriority()).isEqualTo(baseline.byPriority());
+        assertThat(afterDelete.byAssignee()).doesNotContainKeys(member.getId(), admin.getId());
+    }
+
+    @Test
+    void reconcileCorrectsDriftFromWritesOutsideTheService() throws Exception {
+        Task direct = saveTask("Written around the service", TaskStatus.TODO, member, LocalDateTime.now());
+        Task doomed = saveTask("Deleted around the service", TaskStatus.DONE, null, LocalDateTime.now());
+        taskStatsService.reconcile();
+        TaskStatsResponse reconciled = stats();
+
+        saveTask("Another direct insert", TaskStatus.TODO, member, LocalDateTime.now());
+        jdbcTemplate.update("DELETE FROM tasks WHERE id = ?", doomed.getId());
+        jdbcTemplate.update("UPDATE tasks SET status = 'DONE' WHERE id = ?", direct.getId());
+
+        // No events were published, so the counters still show the reconciled state.
+        TaskStatsResponse drifted = stats();
+        assertThat(drifted.total()).isEqualTo(reconciled.total());
+        assertThat(drifted.byStatus()).isEqualTo(reconciled.byStatus());
+
+        taskStatsService.reconcile();
+
+        TaskStatsResponse corrected = stats();
+        assertThat(corrected.total()).isEqualTo(baseline.total() + 2);
+        assertThat(statusDelta(corrected, TaskStatus.TODO)).isEqualTo(1);
+        assertThat(statusDelta(corrected, TaskStatus.DONE)).isEqualTo(1);
+        assertThat(corrected.byAssignee()).containsEntry(member.getId(), 2L);
+        assertThat(corrected.reconciledAt()).isAfterOrEqualTo(reconciled.reconciledAt());
+    }
+
+    @Test
+    void archivedTasksStayCountedAcrossArchivingAndReconcile() throws Exception {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(60);
+        saveTask("Old and done", TaskStatus.DONE, member, longAgo);
+        saveTask("Old, done, unassigned", TaskStatus.DONE, null, longAgo);
+        saveTask("Still open", TaskStatus.TODO, member, longAgo);
+        taskStatsService.reconcile();
+        TaskStatsResponse beforeArchiving = stats();
+
+        assertThat(taskArchiveService.archiveCompletedTasks()).isEqualTo(2);
+
+        TaskStatsResponse afterArchiving = stats();
+        taskStatsService.reconcile();
+        TaskStatsResponse reconciled = stats();
+        for (TaskStatsResponse after : List.of(afterArchiving, reconciled)) {
+            assertThat(after.total()).isEqualTo(beforeArchiving.total());
+            assertThat(after.byStatus()).isEqualTo(beforeArchiving.byStatus());
+            assertThat(after.byAssignee()).containsEntry(member.getId(), 2L);
+            assertThat(after.unassigned()).isEqualTo(beforeArchiving.unassigned());
+        }
+        assertThat(statusDelta(reconciled, TaskStatus.DONE)).isEqualTo(2);
+    }
+
+    private TaskStatsResponse stats() throws Exception {
+        String body = mockMvc.perform(get("/api/tasks/stats").with(user(UserPrincipal.create(member))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, TaskStatsResponse.class);
+    }
+
+    private long statusDelta(TaskStatsResponse stats, TaskStatus status) {
+        return stats.byStatus().get(status) - baseline.byStatus().get(status);
+    }
+
+    private long priorityDelta(TaskStatsResponse stats, TaskPriority priority) {
+        return stats.byPriority().get(priority) - baseline.byPriority().get(priority);
+    }
+
+    private Task saveTask(String title, TaskStatus status, User assignee, LocalDateTime updatedAt) {
+        return taskRepository.save(Task.builder()
+                .title(title)
+                .status(status)
+                .priority(TaskPriority.MEDIUM)
+                .assignee(assignee)
+                .creator(admin)
+                .createdAt(updatedAt)
+                .updatedAt(updatedAt)
+                .build());
+    }
+}
@@ -0,0 +1,153 @@
+package backend.controller;
+
+import backend.enums.RoleName;
+import backend.model.Role;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.users.provisioning.batch-size=3",
+        "app.users.provisioning.workers=2"
+})
+@AutoConfigureMockMvc
+class UserProvisioningControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.findByName(RoleName.ADMIN)
+                .orElseGet(() -> roleRepository.save(new Role(null, RoleName.ADMIN)));
+        roleRepository.findByName(RoleName.USER)
+                .orElseGet(() -> roleRepository.save(new Role(null, RoleName.USER)));
+        admin = userRepository.save(User.builder()
+                .fullName("Provisioning Admin")
+                .username("provisioning-admin")
+                .email("provisioning-admin@example.com")
+                .password("not-a-hash")
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll(userRepository.findAll().stream()
+                .filter(user -> user.getEmail().startsWith("provisioning-") || user.getEmail().startsWith("onboard-"))
+                .toList());
+    }
+
+    @Test
+    void createsValidUsersAndReportsTheRest() throws Exception {
+        List<Object> requests = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            requests.add(signUp("onboard-" + i));
+        }
+        requests.add(signUp("onboard-0"));                    // repeated in the request
+        requests.add(Map.of("email", "onboard-bad@example.com")); // fails validation
+        Map<String, String> taken = signUp("onboard-taken");
+        taken.put("email", admin.getEmail());
+        requests.add(taken);                                   // email already registered
+
+        JsonNode finished = provision(requests);
+
+        assertThat(finished.get("state").asText()).isEqualTo("COMPLETED");
+        assertThat(finished.get("total").asInt()).isEqualTo(10);
+        assertThat(finished.get("processed").asLong()).isEqualTo(10);
+        assertThat(finished.get("created").asLong()).isEqualTo(7);
+        assertThat(finished.get("rejected").asLong()).isEqualTo(3);
+        JsonNode failures = finished.get("failures");
+        assertThat(failures.get(0).get("index").asInt()).isEqualTo(7);
+        assertThat(failures.get(0).get("status").asInt()).isEqualTo(409);
+        assertThat(failures.get(1).get("index").asInt()).isEqualTo(8);
+        assertThat(failures.get(1).get("status").asInt()).isEqualTo(400);
+        assertThat(failures.get(2).get("index").asInt()).isEqualTo(9);
+        assertThat(failures.get(2).get("error").asText()).contains("already registered");
+
+        User created = userRepository.findByEmail("onboard-3@example.com").orElseThrow();
+        assertThat(created.getRole().getName()).isEqualTo(RoleName.USER);
+        assertThat(passwordEncoder.matches("secret-onboard-3", created.getPassword())).isTrue();
+    }
+
+    @Test
+    void rejectsAnEmptyRequest() throws Exception {
+        mockMvc.perform(post("/api/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+                        .with(user(UserPrincipal.create(admin))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode provision(List<Object> requests) throws Exception {
+        String started = mockMvc.perform(post("/api/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests))
+                        .with(user(UserPrincipal.create(admin))))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(started).get("id").asText();
+
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            JsonNode progress = objectMapper.readTree(mockMvc.perform(get("/api/users/bulk/{id}", id)
+                            .with(user(UserPrincipal.create(admin))))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if (!"RUNNING".equals(progress.get("state").asText())) {
+                return progress;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Provisioning " + id + " did not finish in time");
+    }
+
+    private static Map<String, String> signUp(String name) {
+        Map<String, String> request = new HashMap<>();
+        request.put("fullName", "User " + name);
+        request.put("email", name + "@example.com");
+        request.put("username", name);
+        request.put("contact", "0700000000");
+        request.put("password", "secret-" + name);
+        return request;
+    }
+}
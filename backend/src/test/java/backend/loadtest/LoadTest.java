@@ -0,0 +1,302 @@
+package backend.loadtest;
+
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.UserRepository;
+import backend.security.JwtTokenProvider;
+import backend.security.UserPrincipal;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Open-model HTTP load test: boots the whole backend on H2 (MySQL mode), seeds users and tasks,
+ * then fires a weighted mix of calls at a fixed arrival rate. Latency is measured from each
+ * request's scheduled start, so a stalled server shows up in the percentiles instead of
+ * silently lowering the offered load (no coordinated omission).
+ * <p>
+ * Run with {@code mvn -Ploadtest test}. Tunables (system properties):
+ * <ul>
+ *     <li>{@code loadtest.users} / {@code loadtest.tasks}: seeded rows (1000 / 50000)</li>
+ *     <li>{@code loadtest.rate}: requests per second (200)</li>
+ *     <li>{@code loadtest.warmup-s} / {@code loadtest.duration-s}: phases in seconds (10 / 60)</li>
+ *     <li>{@code loadtest.mix}: weights, e.g. {@code login=2,list=35,get=35,create=10,status=15,search=3}</li>
+ *     <li>{@code loadtest.max-error-rate}: fraction of failed calls tolerated (0.01)</li>
+ * </ul>
+ * A summary table is printed and full HdrHistogram percentile distributions (milliseconds) are
+ * written to {@code target/loadtest/<endpoint>.hgrm}.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class LoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 1_000);
+    private static final int TASKS = Integer.getInteger("loadtest.tasks", 50_000);
+    private static final int RATE = Integer.getInteger("loadtest.rate", 200);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-s", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration-s", 60));
+    private static final String MIX = System.getProperty("loadtest.mix",
+            "login=2,list=35,get=35,create=10,status=15,search=3");
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+    private static final int TOKEN_POOL = 100;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    enum Endpoint {
+        LOGIN("login", "POST /api/auth/login"),
+        LIST("list", "GET /api/tasks?limit=50"),
+        GET("get", "GET /api/tasks/{id}"),
+        CREATE("create", "POST /api/tasks"),
+        STATUS("status", "PATCH /api/tasks/{id}/status"),
+        SEARCH("search", "GET /api/users?search="),
+        ;
+
+        final String key;
+        final String description;
+
+        Endpoint(String key, String description) {
+            this.key = key;
+            this.description = description;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private LoadTestSeeder.SeededData data;
+    private List<String> userTokens;
+    private String adminToken;
+
+    @Test
+    void runMix() throws Exception {
+        long seedStart = System.nanoTime();
+        data = new LoadTestSeeder(jdbcTemplate, roleRepository, passwordEncoder).seed(USERS, TASKS);
+        System.out.printf("Seeded %d users and %d tasks in %d ms%n", USERS, TASKS,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+        userTokens = new ArrayList<>(TOKEN_POOL);
+        for (int i = 0; i < Math.min(TOKEN_POOL, USERS); i++) {
+            userTokens.add(token(data.userEmails().get(i)));
+        }
+        adminToken = token(LoadTestSeeder.ADMIN_EMAIL);
+
+        WeightedMix mix = WeightedMix.parse(MIX);
+        drive(mix, WARMUP, new Recording());
+        Recording recording = new Recording();
+        drive(mix, DURATION, recording);
+
+        recording.report(DURATION);
+        for (Endpoint endpoint : mix.endpoints()) {
+            long calls = recording.histograms.get(endpoint).getTotalCount() + recording.errors.get(endpoint).sum();
+            assertThat(recording.histograms.get(endpoint).getTotalCount())
+                    .as("successful %s calls", endpoint.key).isPositive();
+            assertThat(recording.errors.get(endpoint).sum())
+                    .as("failed %s calls", endpoint.key)
+                    .isLessThanOrEqualTo((long) (calls * MAX_ERROR_RATE));
+        }
+    }
+
+    private void drive(WeightedMix mix, Duration duration, Recording recording) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService inFlight = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * interval;
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Endpoint endpoint = mix.next(ThreadLocalRandom.current());
+                inFlight.submit(() -> call(endpoint, scheduled, recording));
+            }
+        }
+    }
+
+    private void call(Endpoint endpoint, long scheduled, Recording recording) {
+        try {
+            HttpResponse<Void> response = httpClient.send(request(endpoint), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                recording.errors.get(endpoint).increment();
+                return;
+            }
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+            recording.histograms.get(endpoint).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        } catch (Exception e) {
+            recording.errors.get(endpoint).increment();
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String userToken = userTokens.get(random.nextInt(userTokens.size()));
+        return switch (endpoint) {
+            case LOGIN -> json(post("/api/auth/login"), String.format("{\"email\":\"%s\",\"password\":\"%s\"}",
+                    data.userEmails().get(random.nextInt(data.userEmails().size())), LoadTestSeeder.PASSWORD));
+            case LIST -> get("/api/tasks?limit=50", userToken);
+            case GET -> get("/api/tasks/" + randomTaskId(random), userToken);
+            case CREATE -> json(post("/api/tasks").header("Authorization", "Bearer " + userToken), String.format(
+                    "{\"title\":\"Load created task\",\"description\":\"Created under load\","
+                            + "\"status\":\"TODO\",\"priority\":\"MEDIUM\",\"assigneeId\":%d}",
+                    data.userIds()[random.nextInt(data.userIds().length)]));
+            case STATUS -> HttpRequest.newBuilder(uri("/api/tasks/" + randomTaskId(random) + "/status?status="
+                            + (random.nextBoolean() ? "IN_PROGRESS" : "DONE")))
+                    .header("Authorization", "Bearer " + userToken)
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case SEARCH -> get("/api/users?search=load-user-" + random.nextInt(100), adminToken);
+        };
+    }
+
+    private long randomTaskId(ThreadLocalRandom random) {
+        return random.nextLong(data.firstTaskId(), data.lastTaskId() + 1);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private HttpRequest.Builder post(String path) {
+        return HttpRequest.newBuilder(uri(path));
+    }
+
+    private static HttpRequest json(HttpRequest.Builder builder, String body) {
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private String token(String email) {
+        User user = userRepository.findByEmail(email).orElseThrow();
+        UserPrincipal principal = UserPrincipal.create(user);
+        return jwtTokenProvider.generateAccessToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()), user.getUsername());
+    }
+
+    private static final class Recording {
+        private final Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+        private Recording() {
+            for (Endpoint endpoint : Endpoint.values()) {
+                histograms.put(endpoint, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+                errors.put(endpoint, new LongAdder());
+            }
+        }
+
+        private void report(Duration duration) throws Exception {
+            File directory = new File("target/loadtest");
+            directory.mkdirs();
+            System.out.printf("%n%d req/s offered for %ds%n", RATE, duration.toSeconds());
+            System.out.printf("%-32s %9s %8s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "ok", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (Endpoint endpoint : Endpoint.values()) {
+                Histogram histogram = histograms.get(endpoint);
+                if (histogram.getTotalCount() == 0 && errors.get(endpoint).sum() == 0) {
+                    continue;
+                }
+                System.out.printf("%-32s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint.description,
+                        histogram.getTotalCount(), errors.get(endpoint).sum(),
+                        histogram.getTotalCount() / (double) duration.toSeconds(),
+                        histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                        histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0);
+                try (PrintStream out = new PrintStream(new FileOutputStream(new File(directory, endpoint.key + ".hgrm")))) {
+                    histogram.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+    }
+
+    // Picks endpoints in proportion to integer weights parsed from "name=weight,...".
+    private record WeightedMix(Endpoint[] slots) {
+
+        static WeightedMix parse(String spec) {
+            List<Endpoint> slots = new ArrayList<>();
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.trim().split("=");
+                Endpoint endpoint = null;
+                for (Endpoint candidate : Endpoint.values()) {
+                    if (candidate.key.equals(parts[0].trim())) {
+                        endpoint = candidate;
+                    }
+                }
+                if (endpoint == null || parts.length != 2) {
+                    throw new IllegalArgumentException("Bad loadtest.mix entry: " + entry);
+                }
+                for (int i = Integer.parseInt(parts[1].trim()); i > 0; i--) {
+                    slots.add(endpoint);
+                }
+            }
+            if (slots.isEmpty()) {
+                throw new IllegalArgumentException("loadtest.mix has no weight: " + spec);
+            }
+            return new WeightedMix(slots.toArray(Endpoint[]::new));
+        }
+
+        Endpoint next(ThreadLocalRandom random) {
+            return slots[random.nextInt(slots.length)];
+        }
+
+        List<Endpoint> endpoints() {
+            return Arrays.stream(slots).distinct().toList();
+        }
+    }
+}
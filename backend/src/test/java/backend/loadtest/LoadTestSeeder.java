@@ -0,0 +1,95 @@
+package backend.loadtest;
+
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Role;
+import backend.model.Task;
+import backend.repository.RoleRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk-loads users and tasks straight through JDBC batches so that seeding a production-sized
+ * data set takes seconds. All seeded users share the password {@link #PASSWORD}, hashed once.
+ */
+class LoadTestSeeder {
+
+    static final String PASSWORD = "password";
+    static final String ADMIN_EMAIL = "load-admin@example.com";
+    private static final int BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    LoadTestSeeder(JdbcTemplate jdbcTemplate, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    record SeededData(List<String> userEmails, long[] userIds, long firstTaskId, long lastTaskId) {}
+
+    SeededData seed(int users, int tasks) {
+        Role userRole = role(RoleName.USER);
+        Role adminRole = role(RoleName.ADMIN);
+        String hash = passwordEncoder.encode(PASSWORD);
+        LocalDateTime now = LocalDateTime.now();
+
+        insertUser(ADMIN_EMAIL, "Load Admin", hash, adminRole.getId(), now);
+        List<String> emails = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            emails.add("load-user-" + i + "@example.com");
+        }
+        for (int from = 0; from < users; from += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = from; i < Math.min(from + BATCH_SIZE, users); i++) {
+                batch.add(new Object[]{"Load User " + i, emails.get(i), emails.get(i), hash, userRole.getId(),
+                        Timestamp.valueOf(now)});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO users (full_name, username, email, password, role_id, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", batch);
+        }
+        long[] userIds = jdbcTemplate.queryForList(
+                        "SELECT id FROM users WHERE email LIKE 'load-user-%' ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+
+        long firstTaskId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM tasks", Long.class);
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        for (int from = 0; from < tasks; from += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = from; i < Math.min(from + BATCH_SIZE, tasks); i++) {
+                long creator = userIds[i % userIds.length];
+                Long assignee = i % 4 == 0 ? null : userIds[(i * 7) % userIds.length];
+                Timestamp updatedAt = Timestamp.valueOf(now.minusSeconds(tasks - i));
+                batch.add(new Object[]{firstTaskId + i, "Load task " + i, "Seeded by the load test suite",
+                        priorities[i % priorities.length].name(), statuses[i % statuses.length].name(),
+                        assignee, creator, updatedAt, updatedAt, 0L});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, priority, status, assignee_id, "
+                    + "creator_id, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+        }
+        long lastTaskId = firstTaskId + tasks - 1;
+
+        // Explicit ids bypassed the pooled sequence; move it past them (H2 syntax, the suite only runs on H2).
+        jdbcTemplate.execute("ALTER SEQUENCE tasks_seq RESTART WITH " + (lastTaskId + Task.ID_ALLOCATION_SIZE + 1));
+
+        return new SeededData(emails, userIds, firstTaskId, lastTaskId);
+    }
+
+    private Role role(RoleName name) {
+        return roleRepository.findByName(name).orElseGet(() -> roleRepository.save(new Role(null, name)));
+    }
+
+    private void insertUser(String email, String fullName, String hash, Long roleId, LocalDateTime now) {
+        jdbcTemplate.update("INSERT INTO users (full_name, username, email, password, role_id, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", fullName, email, email, hash, roleId, Timestamp.valueOf(now));
+    }
+}
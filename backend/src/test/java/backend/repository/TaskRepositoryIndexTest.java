@@ -0,0 +1,164 @@
+package backend.repository;
+
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Role;
+import backend.model.Task;
+import backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN against the SQL Hibernate actually generates for each filter path and fails if
+ * the tasks table is read with a full scan instead of one of the indexes declared on Task.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "backend.repository.RecordingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskRepositoryIndexTest {
+
+    private static final Pattern TASKS_FULL_SCAN = Pattern.compile("tasks\\.tableScan", Pattern.CASE_INSENSITIVE);
+    private static final LocalDateTime CURSOR_TIME = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final int LIMIT = 20;
+    private static final int ASSIGNEES = 15;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static Long assigneeId;
+
+    @BeforeEach
+    void seed() {
+        Role role = entityManager.persist(new Role(null, RoleName.USER));
+        User creator = entityManager.persist(user("creator", role));
+        // A realistic spread: each assignee owns a small slice of the tasks, a few are unassigned.
+        User[] assignees = new User[ASSIGNEES];
+        for (int i = 0; i < ASSIGNEES; i++) {
+            assignees[i] = entityManager.persist(user("assignee" + i, role));
+        }
+        assigneeId = assignees[0].getId();
+
+        LocalDateTime now = LocalDateTime.now();
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < 300; i++) {
+            entityManager.persist(Task.builder()
+                    .title("Task " + i)
+                    .status(statuses[i % statuses.length])
+                    .priority(TaskPriority.LOW)
+                    .creator(creator)
+                    .assignee(i % (ASSIGNEES + 1) == ASSIGNEES ? null : assignees[i % (ASSIGNEES + 1)])
+                    .createdAt(now)
+                    .updatedAt(now.minusMinutes(i))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    static Stream<Arguments> filterPaths() {
+        Timestamp cursor = Timestamp.valueOf(CURSOR_TIME);
+        return Stream.of(
+                path("status", r -> r.findRowsByStatus(TaskStatus.TODO), "TODO"),
+                path("assignee", r -> r.findRowsByAssignee(assigneeId), (Object) null),
+                path("status+assignee", r -> r.findRowsByStatusAndAssignee(TaskStatus.TODO, assigneeId), "TODO", null),
+                path("first page by status", r -> r.findFirstPageByStatus(TaskStatus.TODO, PageRequest.ofSize(LIMIT)),
+                        "TODO", LIMIT),
+                path("first page by assignee", r -> r.findFirstPageByAssignee(assigneeId, PageRequest.ofSize(LIMIT)),
+                        null, LIMIT),
+                path("first page by status+assignee",
+                        r -> r.findFirstPageByStatusAndAssignee(TaskStatus.TODO, assigneeId, PageRequest.ofSize(LIMIT)),
+                        "TODO", null, LIMIT),
+                path("page after cursor", r -> r.findPageAfter(CURSOR_TIME, 1000L, PageRequest.ofSize(LIMIT)),
+                        cursor, cursor, 1000L, LIMIT),
+                path("page by status after cursor",
+                        r -> r.findPageByStatusAfter(TaskStatus.TODO, CURSOR_TIME, 1000L, PageRequest.ofSize(LIMIT)),
+                        "TODO", cursor, cursor, 1000L, LIMIT),
+                path("page by assignee after cursor",
+                        r -> r.findPageByAssigneeAfter(assigneeId, CURSOR_TIME, 1000L, PageRequest.ofSize(LIMIT)),
+                        null, cursor, cursor, 1000L, LIMIT),
+                path("page by status+assignee after cursor",
+                        r -> r.findPageByStatusAndAssigneeAfter(TaskStatus.TODO, assigneeId, CURSOR_TIME, 1000L,
+                                PageRequest.ofSize(LIMIT)),
+                        "TODO", null, cursor, cursor, 1000L, LIMIT),
+                path("changes until", r -> r.findChangesUntil(CURSOR_TIME, PageRequest.ofSize(LIMIT)),
+                        cursor, LIMIT),
+                path("changes after cursor",
+                        r -> r.findChangesAfter(CURSOR_TIME.minusDays(1), 1000L, CURSOR_TIME, PageRequest.ofSize(LIMIT)),
+                        cursor, cursor, 1000L, cursor, LIMIT),
+                path("archive candidates", r -> r.findIdsToArchive(TaskStatus.DONE, CURSOR_TIME, PageRequest.ofSize(LIMIT)),
+                        "DONE", cursor, LIMIT)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterPaths")
+    void filterPathUsesAnIndex(String name, Consumer<TaskRepository> query, Object[] parameters) {
+        RecordingStatementInspector.clear();
+        query.accept(taskRepository);
+        String sql = RecordingStatementInspector.last();
+
+        String plan = explain(sql, parameters);
+
+        assertThat(TASKS_FULL_SCAN.matcher(plan).find())
+                .as("%s falls back to a full scan of tasks:%n%s", name, plan)
+                .isFalse();
+    }
+
+    // A null entry stands for the assignee id, which is only known once the seed data exists.
+    private String explain(String sql, Object[] parameters) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int bound = Math.min(parameters.length, statement.getParameterMetaData().getParameterCount());
+                for (int i = 0; i < bound; i++) {
+                    statement.setObject(i + 1, parameters[i] == null ? assigneeId : parameters[i]);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    private static Arguments path(String name, Consumer<TaskRepository> query, Object... parameters) {
+        return Arguments.of(name, query, parameters);
+    }
+
+    private User user(String name, Role role) {
+        return User.builder()
+                .fullName(name)
+                .username(name)
+                .email(name + "@example.com")
+                .password("secret")
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package backend.repository;
+
+import backend.dto.TaskResponse;
+import backend.dto.TaskRow;
+import backend.enums.RoleName;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.model.Role;
+import backend.model.Task;
+import backend.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25, 200})
+    void listingTasksIssuesOneStatementRegardlessOfSize(int size) {
+        seedTasks(size);
+        Statistics statistics = statistics();
+
+        List<TaskResponse> responses = taskRepository.findAllRows().stream()
+                .map(TaskRow::toResponse)
+                .toList();
+
+        assertThat(responses).hasSize(size);
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.creator().email()).isEqualTo("creator@example.com");
+            assertThat(response.assignee().email()).isEqualTo("assignee@example.com");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25, 200})
+    void pagingTasksIssuesOneStatementRegardlessOfSize(int size) {
+        seedTasks(size);
+        Statistics statistics = statistics();
+
+        List<TaskRow> rows = taskRepository.findFirstPageByStatus(TaskStatus.TODO, PageRequest.ofSize(size));
+
+        assertThat(rows).hasSize(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void versionPinnedUpdateOnlyMatchesTheVersionItWasGiven() {
+        seedTasks(1);
+        TaskRow row = taskRepository.findAllRows().get(0);
+
+        assertThat(taskRepository.updateStatusIfVersion(row.id(), row.version() + 1, TaskStatus.DONE,
+                LocalDateTime.now())).isZero();
+        assertThat(taskRepository.updateStatusIfVersion(row.id(), row.version(), TaskStatus.DONE,
+                LocalDateTime.now())).isEqualTo(1);
+
+        entityManager.clear();
+        TaskRow locked = taskRepository.findRowByIdForUpdate(row.id()).orElseThrow();
+        assertThat(locked.status()).isEqualTo(TaskStatus.DONE);
+        assertThat(locked.version()).isEqualTo(row.version() + 1);
+        assertThat(locked.creatorEmail()).isEqualTo("creator@example.com");
+    }
+
+    private void seedTasks(int size) {
+        Role role = entityManager.persist(new Role(null, RoleName.USER));
+        User creator = entityManager.persist(user("creator", role));
+        User assignee = entityManager.persist(user("assignee", role));
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            entityManager.persist(Task.builder()
+                    .title("Task " + i)
+                    .status(TaskStatus.TODO)
+                    .priority(TaskPriority.MEDIUM)
+                    .creator(creator)
+                    .assignee(assignee)
+                    .createdAt(now)
+                    .updatedAt(now.minusSeconds(i))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private User user(String name, Role role) {
+        return User.builder()
+                .fullName(name)
+                .username(name)
+                .email(name + "@example.com")
+                .password("secret")
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,111 @@
+package backend.repository;
+
+import backend.config.HibernateCacheConfig;
+import backend.enums.RoleName;
+import backend.model.Role;
+import backend.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repeated User/Role lookups must be answered by the second-level and query caches without
+ * touching the database, and writes must invalidate what was cached. Runs without the usual
+ * test transaction so every repository call commits and opens a fresh session.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(HibernateCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Role role = roleRepository.save(new Role(null, RoleName.USER));
+        userRepository.save(User.builder()
+                .fullName("Jane Doe")
+                .username("jane@example.com")
+                .email("jane@example.com")
+                .password("secret")
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAllInBatch();
+        roleRepository.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void repeatedFindByEmailIsServedFromCache() {
+        assertThat(userRepository.findByEmail("jane@example.com")).isPresent();
+        statistics.clear();
+
+        User user = userRepository.findByEmail("jane@example.com").orElseThrow();
+
+        assertThat(user.getRole().getName()).isEqualTo(RoleName.USER);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void repeatedRoleLookupIsServedFromCache() {
+        assertThat(roleRepository.findByName(RoleName.USER)).isPresent();
+        statistics.clear();
+
+        assertThat(roleRepository.findByName(RoleName.USER)).isPresent();
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void updatingAUserInvalidatesCachedLookups() {
+        // Email is the immutable natural id, so change a mutable column instead.
+        User user = userRepository.findByEmail("jane@example.com").orElseThrow();
+        assertThat(userRepository.findByEmail("jane@example.com")).isPresent();
+        user.setFullName("Jane Smith");
+        userRepository.save(user);
+        statistics.clear();
+
+        User reloaded = userRepository.findByEmail("jane@example.com").orElseThrow();
+
+        assertThat(reloaded.getFullName()).isEqualTo("Jane Smith");
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+
+        // The fresh result is cached again.
+        statistics.clear();
+        assertThat(userRepository.findByEmail("jane@example.com")).isPresent();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+}
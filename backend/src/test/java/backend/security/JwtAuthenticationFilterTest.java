@@ -0,0 +1,113 @@
+package backend.security;
+
+import backend.enums.RoleName;
+import backend.model.Role;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.UserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bearer tokens end to end: the filter only authenticates a request whose token verifies now,
+ * whether or not an earlier request already put it in the verified-token cache.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtAuthenticationFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.jwt.secret}")
+    private String secret;
+
+    private User member;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.findByName(RoleName.USER)
+                .orElseGet(() -> roleRepository.save(new Role(null, RoleName.USER)));
+        member = userRepository.save(User.builder()
+                .fullName("Filter Member")
+                .username("filter-member@example.com")
+                .email("filter-member@example.com")
+                .password("not-a-hash")
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.delete(member);
+    }
+
+    @Test
+    void validTokenAuthenticatesEveryRequestUntilItExpires() throws Exception {
+        Date expiration = new Date(System.currentTimeMillis() + 1500);
+        String token = token(member.getEmail(), expiration);
+
+        listTasks(token, status().isOk());
+        listTasks(token, status().isOk());
+
+        Thread.sleep(expiration.getTime() - System.currentTimeMillis() + 100);
+
+        listTasks(token, status().isUnauthorized());
+    }
+
+    @Test
+    void tamperedTokenIsRejectedEvenAfterTheOriginalWasCached() throws Exception {
+        String token = token(member.getEmail(), new Date(System.currentTimeMillis() + 60_000));
+        String other = token("someone-else@example.com", new Date(System.currentTimeMillis() + 60_000));
+        listTasks(token, status().isOk());
+
+        String[] parts = token.split("\\.");
+        listTasks(parts[0] + "." + other.split("\\.")[1] + "." + parts[2], status().isUnauthorized());
+        listTasks(parts[0] + "." + parts[1] + ".", status().isUnauthorized());
+    }
+
+    @Test
+    void tokenForAnUnknownUserIsRejected() throws Exception {
+        String token = token("nobody@example.com", new Date(System.currentTimeMillis() + 60_000));
+
+        listTasks(token, status().isUnauthorized());
+    }
+
+    private void listTasks(String token, ResultMatcher expected) throws Exception {
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + token))
+                .andExpect(expected);
+    }
+
+    private String token(String subject, Date expiration) {
+        return Jwts.builder()
+                .subject(subject)
+                .claim("roles", List.of(RoleName.USER.name()))
+                .expiration(expiration)
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .compact();
+    }
+}
@@ -0,0 +1,134 @@
+package backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The verified-token cache may only ever skip the signature check for a token that passed it,
+ * and never keeps a token past its own "exp".
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "CvsHphcFevtdY3HnphT7gUvnIgDin5hlQG+9O1cCD7vhGEltf+QsEasz1n91kqFCf8vkB4RDnf5nAfblMR+CgA==";
+    private static final long TOKEN_VALIDITY = 3_600_000;
+
+    private final SecretKey signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+
+    private JwtTokenProvider jwtTokenProvider;
+    private Cache<String, Claims> verifiedTokens;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "tokenValidity", TOKEN_VALIDITY);
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshTokenValidity", TOKEN_VALIDITY * 24);
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheSize", 100L);
+        jwtTokenProvider.init();
+        verifiedTokens = (Cache<String, Claims>) ReflectionTestUtils.getField(jwtTokenProvider, "verifiedTokens");
+    }
+
+    @Test
+    void verifiedTokenIsServedFromTheCache() {
+        String token = accessToken("jane@example.com");
+
+        Claims first = jwtTokenProvider.verify(token);
+        Claims second = jwtTokenProvider.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getSubject()).isEqualTo("jane@example.com");
+        assertThat(verifiedTokens.asMap()).containsOnlyKeys(token);
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceItExpires() throws InterruptedException {
+        Date expiration = new Date(System.currentTimeMillis() + 1500);
+        String token = signed("jane@example.com", expiration);
+        Claims claims = jwtTokenProvider.verify(token);
+        assertThat(verifiedTokens.getIfPresent(token)).isNotNull();
+
+        // "exp" is kept in whole seconds, so the token lapses at or before the requested time.
+        Thread.sleep(expiration.getTime() - System.currentTimeMillis() + 100);
+
+        assertThat(verifiedTokens.getIfPresent(token)).isNull();
+        assertThatThrownBy(() -> jwtTokenProvider.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(jwtTokenProvider.validateToken(claims, principal("jane@example.com"))).isFalse();
+    }
+
+    @Test
+    void tamperedTokensNeverReachTheCache() {
+        String token = accessToken("jane@example.com");
+        String other = accessToken("admin@example.com");
+        jwtTokenProvider.verify(token);
+
+        String[] parts = token.split("\\.");
+        String swappedPayload = parts[0] + "." + other.split("\\.")[1] + "." + parts[2];
+        String flippedSignature = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+        String foreignKey = Jwts.builder()
+                .subject("jane@example.com")
+                .expiration(new Date(System.currentTimeMillis() + TOKEN_VALIDITY))
+                .signWith(Keys.hmacShaKeyFor(new byte[64]))
+                .compact();
+
+        for (String tampered : List.of(swappedPayload, flippedSignature, foreignKey)) {
+            assertThatThrownBy(() -> jwtTokenProvider.verify(tampered)).isInstanceOf(JwtException.class);
+        }
+        assertThat(verifiedTokens.asMap()).containsOnlyKeys(token);
+    }
+
+    @Test
+    void cacheLifetimeIsCappedByTheTokenExpiry() {
+        String token = signed("jane@example.com", new Date(System.currentTimeMillis() + 60_000));
+
+        jwtTokenProvider.verify(token);
+
+        long expiresAfter = verifiedTokens.policy().expireVariably().orElseThrow()
+                .getExpiresAfter(token, TimeUnit.MILLISECONDS).orElseThrow();
+        assertThat(expiresAfter).isBetween(55_000L, 60_000L);
+    }
+
+    @Test
+    void tokenWithoutExpiryIsNotCached() {
+        String token = Jwts.builder().subject("jane@example.com").signWith(signingKey).compact();
+
+        assertThat(jwtTokenProvider.verify(token).getSubject()).isEqualTo("jane@example.com");
+
+        assertThat(verifiedTokens.getIfPresent(token)).isNull();
+    }
+
+    private String accessToken(String email) {
+        UserPrincipal principal = principal(email);
+        return jwtTokenProvider.generateAccessToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()), email);
+    }
+
+    private String signed(String subject, Date expiration) {
+        return Jwts.builder().subject(subject).expiration(expiration).signWith(signingKey).compact();
+    }
+
+    private static UserPrincipal principal(String email) {
+        return new UserPrincipal(1L, "Jane", email, email, LocalDateTime.now(), "not-a-hash",
+                List.of(new SimpleGrantedAuthority("USER")));
+    }
+}
@@ -0,0 +1,198 @@
+package backend.security;
+
+import backend.config.CacheConfig;
+import backend.enums.RoleName;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.UserRepository;
+import backend.support.TestUsers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.search.Search;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The principal cache behind JWT authentication: hits and misses are counted, the lookup is
+ * timed, and every way a user can change drops the cached principal.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserPrincipalLoaderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserPrincipalLoader userPrincipalLoader;
+
+    @Autowired
+    private UserPrincipalCacheEvictor cacheEvictor;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private TestUsers users;
+    private Cache cache;
+    private User member;
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(roleRepository, userRepository);
+        cache = cacheManager.getCache(CacheConfig.USER_PRINCIPALS);
+        cache.clear();
+        member = createUser("principal-member");
+    }
+
+    @AfterEach
+    void tearDown() {
+        users.deleteAll();
+        cacheEvictor.evictAll();
+    }
+
+    @Test
+    void secondLookupIsACacheHit() {
+        double misses = cacheGets("miss");
+        double hits = cacheGets("hit");
+        long loads = tokenLoads();
+
+        UserDetails first = userPrincipalLoader.loadPrincipalByEmail(member.getEmail());
+        UserDetails second = userPrincipalLoader.loadPrincipalByEmail(member.getEmail());
+
+        assertThat(second).isSameAs(first);
+        assertThat(cacheGets("miss") - misses).isEqualTo(1);
+        assertThat(cacheGets("hit") - hits).isEqualTo(1);
+        assertThat(tokenLoads() - loads).isPositive();
+    }
+
+    @Test
+    void bearerRequestsShareTheCachedPrincipal() throws Exception {
+        String token = jwtTokenProvider.generateAccessToken(
+                new UsernamePasswordAuthenticationToken(UserPrincipal.create(member), null),
+                member.getEmail());
+        double misses = cacheGets("miss");
+        double hits = cacheGets("hit");
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+
+        assertThat(cacheGets("miss") - misses).isEqualTo(1);
+        assertThat(cacheGets("hit") - hits).isEqualTo(2);
+    }
+
+    @Test
+    void roleChangeEvictsThePrincipal() {
+        assertThat(authoritiesOf(userPrincipalLoader.loadPrincipalByEmail(member.getEmail())))
+                .containsExactly(RoleName.USER.name());
+
+        member.setRole(users.role(RoleName.ADMIN));
+        member = userRepository.save(member);
+
+        assertThat(cache.get(member.getEmail())).isNull();
+        assertThat(authoritiesOf(userPrincipalLoader.loadPrincipalByEmail(member.getEmail())))
+                .containsExactly(RoleName.ADMIN.name());
+    }
+
+    @Test
+    void passwordChangeEvictsThePrincipal() {
+        userPrincipalLoader.loadPrincipalByEmail(member.getEmail());
+
+        member.setPassword("a-new-hash");
+        member = userRepository.save(member);
+
+        assertThat(cache.get(member.getEmail())).isNull();
+        assertThat(userPrincipalLoader.loadPrincipalByEmail(member.getEmail()).getPassword())
+                .isEqualTo("a-new-hash");
+    }
+
+    @Test
+    void deletedUserIsNoLongerServed() {
+        userPrincipalLoader.loadPrincipalByEmail(member.getEmail());
+
+        userRepository.delete(member);
+
+        assertThatThrownBy(() -> userPrincipalLoader.loadPrincipalByEmail(member.getEmail()))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    void bulkDeleteFollowedByEvictAllDropsEveryPrincipal() {
+        User other = createUser("principal-other");
+        userPrincipalLoader.loadPrincipalByEmail(member.getEmail());
+        userPrincipalLoader.loadPrincipalByEmail(other.getEmail());
+
+        userRepository.deleteAllInBatch(List.of(member, other));
+        // The bulk delete fired no entity callbacks, so both principals are still cached.
+        assertThat(cache.get(member.getEmail())).isNotNull();
+        cacheEvictor.evictAll();
+
+        assertThat(cache.get(member.getEmail())).isNull();
+        assertThat(cache.get(other.getEmail())).isNull();
+        assertThatThrownBy(() -> userPrincipalLoader.loadPrincipalByEmail(other.getEmail()))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    void unknownEmailIsNotCached() {
+        assertThatThrownBy(() -> userPrincipalLoader.loadPrincipalByEmail("nobody@example.com"))
+                .isInstanceOf(UsernameNotFoundException.class);
+
+        assertThat(cache.get("nobody@example.com")).isNull();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CacheConfig.USER_PRINCIPALS)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private long tokenLoads() {
+        return Search.in(meterRegistry).name("security.user.load").tag("lookup", "token")
+                .timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    private static List<String> authoritiesOf(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    // Tokens are issued for the username and resolved by email, so the two match here.
+    private User createUser(String name) {
+        return users.create(name, RoleName.USER, user -> user.username(name + "@example.com"));
+    }
+}
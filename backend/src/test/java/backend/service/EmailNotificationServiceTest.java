@@ -0,0 +1,224 @@
+package backend.service;
+
+import backend.enums.NotificationType;
+import backend.enums.OutboxState;
+import backend.enums.RoleName;
+import backend.model.EmailOutbox;
+import backend.model.User;
+import backend.repository.EmailOutboxRepository;
+import backend.repository.RoleRepository;
+import backend.repository.TaskRepository;
+import backend.repository.UserRepository;
+import backend.security.UserPrincipal;
+import backend.support.TestUsers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The scheduled run is pushed out of the way; tests call dispatchPending() themselves.
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "app.email.dispatch-interval=PT1H",
+        "app.email.retry.max-attempts=3",
+        "app.email.retry.delay-hours=0"
+})
+@AutoConfigureMockMvc
+class EmailNotificationServiceTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmailNotificationService emailNotificationService;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private TestUsers users;
+    private User member;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        users = new TestUsers(roleRepository, userRepository);
+        member = users.create("mail-member", RoleName.USER);
+        admin = users.create("mail-admin", RoleName.ADMIN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        users.deleteAll();
+    }
+
+    @Test
+    void changesAreWrittenToTheOutboxAndSentAsOneDigestPerRecipient() throws Exception {
+        long first = createTask("Write release notes", member, admin);
+        createTask("Review pull request", member, admin);
+        updateStatus(first, "DONE", admin);
+
+        // Written with the changes, nothing sent yet.
+        assertThat(outboxRepository.findAll())
+                .extracting(EmailOutbox::getType)
+                .containsExactlyInAnyOrder(NotificationType.TASK_ASSIGNED, NotificationType.TASK_ASSIGNED,
+                        NotificationType.TASK_STATUS_CHANGED);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+
+        assertThat(emailNotificationService.dispatchPending()).isEqualTo(1);
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo(member.getEmail());
+        assertThat(received[0].getSubject()).isEqualTo("3 task updates");
+        assertThat(GreenMailUtil.getBody(received[0]))
+                .contains("Task 'Write release notes' was assigned to you")
+                .contains("Task 'Review pull request' was assigned to you")
+                .contains("Task 'Write release notes' moved to DONE");
+        assertThat(outboxRepository.findAll())
+                .allSatisfy(row -> {
+                    assertThat(row.getState()).isEqualTo(OutboxState.SENT);
+                    assertThat(row.getSentAt()).isNotNull();
+                });
+
+        assertThat(emailNotificationService.dispatchPending()).isZero();
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    @Test
+    void statusChangesNotifyTheCreatorButNeverTheActor() throws Exception {
+        long id = createTask("Self assigned", member, member);
+        assertThat(outboxRepository.count()).isZero();
+
+        updateStatus(id, "IN_PROGRESS", admin);
+
+        assertThat(outboxRepository.findAll())
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getRecipient()).isEqualTo(member.getEmail());
+                    assertThat(row.getType()).isEqualTo(NotificationType.TASK_STATUS_CHANGED);
+                });
+        emailNotificationService.dispatchPending();
+        assertThat(greenMail.getReceivedMessages())
+                .singleElement()
+                .satisfies(message -> assertThat(message.getSubject())
+                        .isEqualTo("Task 'Self assigned' moved to IN_PROGRESS"));
+    }
+
+    @Test
+    void failedDigestsAreRetriedUntilTheAttemptsRunOut() throws Exception {
+        createTask("Unlucky", member, admin);
+        greenMail.stop();
+        try {
+            emailNotificationService.dispatchPending();
+            emailNotificationService.dispatchPending();
+
+            EmailOutbox retrying = outboxRepository.findAll().get(0);
+            assertThat(retrying.getState()).isEqualTo(OutboxState.PENDING);
+            assertThat(retrying.getAttempts()).isEqualTo(2);
+            assertThat(retrying.getLastError()).isNotBlank();
+
+            emailNotificationService.dispatchPending();
+        } finally {
+            greenMail.start();
+        }
+
+        EmailOutbox abandoned = outboxRepository.findAll().get(0);
+        assertThat(abandoned.getState()).isEqualTo(OutboxState.FAILED);
+        assertThat(abandoned.getAttempts()).isEqualTo(3);
+        assertThat(emailNotificationService.dispatchPending()).isZero();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void aDigestThatFailedOnceIsSentOnTheNextRun() throws Exception {
+        createTask("Second time lucky", member, admin);
+        greenMail.stop();
+        try {
+            emailNotificationService.dispatchPending();
+        } finally {
+            greenMail.start();
+        }
+        assertThat(outboxRepository.findAll().get(0).getState()).isEqualTo(OutboxState.PENDING);
+
+        emailNotificationService.dispatchPending();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        EmailOutbox sent = outboxRepository.findAll().get(0);
+        assertThat(sent.getState()).isEqualTo(OutboxState.SENT);
+        assertThat(sent.getAttempts()).isEqualTo(2);
+        assertThat(sent.getLastError()).isNull();
+    }
+
+    @Test
+    void purgeKeepsPendingNotifications() throws Exception {
+        createTask("Old news", member, admin);
+        emailNotificationService.dispatchPending();
+        createTask("Still pending", member, admin);
+        outboxRepository.findAll().forEach(row -> {
+            row.setCreatedAt(LocalDateTime.now().minusDays(30));
+            outboxRepository.save(row);
+        });
+
+        emailNotificationService.purgeFinished();
+
+        assertThat(outboxRepository.findAll())
+                .singleElement()
+                .satisfies(row -> assertThat(row.getTaskTitle()).isEqualTo("Still pending"));
+    }
+
+    private long createTask(String title, User assignee, User actor) throws Exception {
+        String body = """
+                {"title":"%s","status":"TODO","priority":"HIGH","assigneeId":%d}
+                """.formatted(title, assignee.getId());
+        String response = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .with(user(UserPrincipal.create(actor))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private void updateStatus(long id, String newStatus, User actor) throws Exception {
+        mockMvc.perform(patch("/api/tasks/{id}/status", id)
+                        .param("status", newStatus)
+                        .with(user(UserPrincipal.create(actor))))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,295 @@
+package backend.service;
+
+import backend.config.AppProperties;
+import backend.dto.TaskDimensions;
+import backend.dto.TaskEvent;
+import backend.dto.TaskResponse;
+import backend.enums.TaskEventType;
+import backend.enums.TaskPriority;
+import backend.enums.TaskStatus;
+import backend.service.impl.TaskStreamServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Drives the stream service without a servlet container: each emitter is attached to a
+ * {@link Client} standing in for the async response, which records what was written and lets a
+ * test stall the connection or fire the container's completion, timeout and error callbacks.
+ */
+class TaskStreamServiceTest {
+
+    private static final int BUFFER_SIZE = 4;
+    private static final int MAX_SUBSCRIBERS = 16;
+    private static final int WRITER_THREADS = 4;
+
+    private TaskStreamServiceImpl taskStreamService;
+    private final List<Client> clients = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        AppProperties.Stream stream = appProperties.getTasks().getStream();
+        stream.setBufferSize(BUFFER_SIZE);
+        stream.setMaxSubscribers(MAX_SUBSCRIBERS);
+        stream.setHeartbeat(Duration.ofMinutes(1));
+        stream.setTimeout(Duration.ofMinutes(1));
+        stream.setSendTimeout(Duration.ofMillis(300));
+        stream.setWriterThreads(WRITER_THREADS);
+        stream.setWriteQueueSize(WRITER_THREADS);
+        taskStreamService = new TaskStreamServiceImpl(appProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clients.forEach(Client::release);
+        clients.forEach(Client::disconnect);
+        ReflectionTestUtils.invokeMethod(taskStreamService, "shutdown");
+    }
+
+    @Test
+    void subscriberReceivesCreateAndUpdateEvents() throws Exception {
+        Client client = connect(null, null);
+
+        taskStreamService.onTaskEvent(event(TaskEventType.CREATED, 1L, TaskStatus.TODO, null));
+        taskStreamService.onTaskEvent(event(TaskEventType.STATUS_CHANGED, 1L, TaskStatus.IN_PROGRESS, TaskStatus.TODO));
+        taskStreamService.onTaskEvent(event(TaskEventType.DELETED, 1L, null, TaskStatus.IN_PROGRESS));
+
+        assertThat(client.next().type()).isEqualTo(TaskEventType.CREATED);
+        assertThat(client.next().type()).isEqualTo(TaskEventType.STATUS_CHANGED);
+        assertThat(client.next().type()).isEqualTo(TaskEventType.DELETED);
+    }
+
+    @Test
+    void filteredSubscriberHearsTasksEnterAndLeaveItsView() throws Exception {
+        Client todoBoard = connect(TaskStatus.TODO, null);
+
+        taskStreamService.onTaskEvent(event(TaskEventType.CREATED, 1L, TaskStatus.DONE, null));
+        taskStreamService.onTaskEvent(event(TaskEventType.CREATED, 2L, TaskStatus.TODO, null));
+        taskStreamService.onTaskEvent(event(TaskEventType.STATUS_CHANGED, 2L, TaskStatus.DONE, TaskStatus.TODO));
+
+        assertThat(todoBoard.next().taskId()).isEqualTo(2L);
+        TaskEvent left = todoBoard.next();
+        assertThat(left.type()).isEqualTo(TaskEventType.STATUS_CHANGED);
+        assertThat(left.previous().status()).isEqualTo(TaskStatus.TODO);
+        assertThat(todoBoard.received).isEmpty();
+    }
+
+    @Test
+    void slowSubscriberIsDroppedWithoutBlockingWriters() throws Exception {
+        Client slow = connect(null, null);
+        Client fast = connect(null, null);
+        Thread slowDrainer = slow.drainer();
+        slow.stall();
+
+        // Bursts the fast client keeps up with; the stalled one overflows its buffer on the second.
+        long id = 0;
+        for (int burst = 0; burst < 4; burst++) {
+            long first = id + 1;
+            long last = id + BUFFER_SIZE;
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+                for (long next = first; next <= last; next++) {
+                    taskStreamService.onTaskEvent(event(TaskEventType.CREATED, next, TaskStatus.TODO, null));
+                }
+            });
+            for (id = first; id <= last; id++) {
+                assertThat(fast.next().taskId()).isEqualTo(id);
+            }
+            id = last;
+        }
+        assertThat(slow.completed.await(2, TimeUnit.SECONDS)).isTrue();
+        slowDrainer.join(Duration.ofSeconds(2));
+        assertThat(slowDrainer.isAlive()).isFalse();
+        assertThat(subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void subscriberWhoseWriteHangsIsDroppedAfterTheSendTimeout() throws Exception {
+        Client stuck = connect(null, null);
+        Client other = connect(null, null);
+        Thread stuckDrainer = stuck.drainer();
+        stuck.stall();
+
+        taskStreamService.onTaskEvent(event(TaskEventType.CREATED, 1L, TaskStatus.TODO, null));
+
+        // The hung write runs on a platform thread, so the other drainer still gets through.
+        assertThat(other.next().taskId()).isEqualTo(1L);
+        assertThat(stuck.completed.await(2, TimeUnit.SECONDS)).isTrue();
+        stuckDrainer.join(Duration.ofSeconds(2));
+        assertThat(stuckDrainer.isAlive()).isFalse();
+        assertThat(subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void stalledSubscribersDoNotGrowTheWriterPool() throws Exception {
+        List<Client> stalled = new ArrayList<>();
+        for (int i = 0; i < MAX_SUBSCRIBERS; i++) {
+            Client client = connect(null, null);
+            client.stall();
+            stalled.add(client);
+        }
+
+        taskStreamService.onTaskEvent(event(TaskEventType.CREATED, 1L, TaskStatus.TODO, null));
+
+        // Writes that find every writer busy and the queue full drop their subscriber at once;
+        // the rest hang until the send timeout.
+        for (Client client : stalled) {
+            assertThat(client.completed.await(2, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(subscriberCount()).isZero();
+        ThreadPoolExecutor writers = (ThreadPoolExecutor) ReflectionTestUtils.getField(taskStreamService, "writers");
+        assertThat(writers.getLargestPoolSize()).isLessThanOrEqualTo(WRITER_THREADS);
+        assertThat(writers.getQueue()).isEmpty();
+    }
+
+    @Test
+    void completionTimeoutAndErrorReleaseTheSubscriber() throws Exception {
+        Client completed = connect(null, null);
+        Client timedOut = connect(null, null);
+        Client failed = connect(null, null);
+        List<Thread> drainers = List.of(completed.drainer(), timedOut.drainer(), failed.drainer());
+
+        completed.onCompletion.run();
+        timedOut.onTimeout.run();
+        failed.onError.accept(new IOException("Broken pipe"));
+
+        for (Thread drainer : drainers) {
+            drainer.join(Duration.ofSeconds(2));
+            assertThat(drainer.isAlive()).isFalse();
+        }
+        assertThat(subscriberCount()).isZero();
+
+        taskStreamService.onTaskEvent(event(TaskEventType.CREATED, 1L, TaskStatus.TODO, null));
+        assertThat(completed.received.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void subscribersBeyondTheLimitAreTurnedAway() throws Exception {
+        for (int i = 0; i < MAX_SUBSCRIBERS; i++) {
+            connect(null, null);
+        }
+
+        assertThatThrownBy(() -> taskStreamService.subscribe(null, null))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("503");
+    }
+
+    private Client connect(TaskStatus status, Long assigneeId) throws Exception {
+        SseEmitter emitter = taskStreamService.subscribe(status, assigneeId);
+        Client client = new Client();
+        Object handler = Proxy.newProxyInstance(ResponseBodyEmitter.class.getClassLoader(),
+                new Class<?>[]{Class.forName(ResponseBodyEmitter.class.getName() + "$Handler")}, client);
+        // What the MVC return value handler does once the response is committed to async mode.
+        ReflectionTestUtils.invokeMethod(emitter, "initialize", handler);
+        client.subscriber = ((Set<?>) ReflectionTestUtils.getField(taskStreamService, "subscribers")).stream()
+                .filter(subscriber -> ReflectionTestUtils.getField(subscriber, "emitter") == emitter)
+                .findFirst()
+                .orElseThrow();
+        clients.add(client);
+        return client;
+    }
+
+    private int subscriberCount() {
+        return ((Set<?>) ReflectionTestUtils.getField(taskStreamService, "subscribers")).size();
+    }
+
+    private static TaskEvent event(TaskEventType type, Long id, TaskStatus status, TaskStatus previousStatus) {
+        TaskResponse task = status == null ? null : new TaskResponse(id, "Task " + id, null, status,
+                TaskPriority.MEDIUM, null, null, LocalDateTime.now(), LocalDateTime.now(), 0L);
+        TaskDimensions previous = previousStatus == null ? null
+                : new TaskDimensions(previousStatus, TaskPriority.MEDIUM, null);
+        return new TaskEvent(type, id, task, previous, 1L);
+    }
+
+    /**
+     * Stands in for the servlet response behind an emitter. Sends can be stalled to model a
+     * client that stopped reading.
+     */
+    private static final class Client implements InvocationHandler {
+        private final BlockingQueue<TaskEvent> received = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile CountDownLatch stalled = new CountDownLatch(0);
+        private volatile Runnable onCompletion;
+        private volatile Runnable onTimeout;
+        private volatile Consumer<Throwable> onError;
+        private Object subscriber;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "send" -> {
+                    try {
+                        stalled.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Client went away");
+                    }
+                    if (args[0] instanceof Set<?> parts) {
+                        for (Object part : parts) {
+                            Object data = ReflectionTestUtils.invokeMethod(part, "getData");
+                            if (data instanceof TaskEvent event) {
+                                received.add(event);
+                            }
+                        }
+                    }
+                }
+                case "complete", "completeWithError" -> completed.countDown();
+                case "onCompletion" -> onCompletion = (Runnable) args[0];
+                case "onTimeout" -> onTimeout = (Runnable) args[0];
+                case "onError" -> onError = (Consumer<Throwable>) args[0];
+                default -> {
+                }
+            }
+            return null;
+        }
+
+        TaskEvent next() throws InterruptedException {
+            TaskEvent event = received.poll(2, TimeUnit.SECONDS);
+            assertThat(event).as("event delivered").isNotNull();
+            return event;
+        }
+
+        Thread drainer() {
+            return (Thread) ReflectionTestUtils.getField(subscriber, "drainer");
+        }
+
+        void stall() {
+            stalled = new CountDownLatch(1);
+        }
+
+        void release() {
+            stalled.countDown();
+        }
+
+        void disconnect() {
+            if (onCompletion != null) {
+                onCompletion.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package backend.services.components.utils;
+
+import backend.dto.UserSimpleResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonCodecTest {
+
+    private final JsonCodec codec = new JsonCodec(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void inclusionIsPerCallAndDoesNotLeakIntoDefaultWrites() {
+        UserSimpleResponse user = new UserSimpleResponse(1L, "ann", null);
+
+        assertThat(codec.write(user, JsonInclude.Include.NON_NULL)).isEqualTo("{\"id\":1,\"username\":\"ann\"}");
+        assertThat(codec.write(user)).isEqualTo("{\"id\":1,\"username\":\"ann\",\"email\":null}");
+    }
+
+    @Test
+    void readsListsFromStringsBytesAndStreams() {
+        String json = "[{\"id\":1,\"username\":\"ann\",\"email\":\"ann@example.com\",\"unknown\":true}]";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        List<UserSimpleResponse> expected = List.of(new UserSimpleResponse(1L, "ann", "ann@example.com"));
+        assertThat(codec.readList(json, UserSimpleResponse.class)).isEqualTo(expected);
+        assertThat(codec.readList(bytes, UserSimpleResponse.class)).isEqualTo(expected);
+        assertThat(codec.readList(new ByteArrayInputStream(bytes), UserSimpleResponse.class)).isEqualTo(expected);
+        assertThat(codec.listReaderFor(UserSimpleResponse.class)).isSameAs(codec.listReaderFor(UserSimpleResponse.class));
+    }
+
+    @Test
+    void writesToAStreamWithoutClosingIt() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                throw new AssertionError("stream closed");
+            }
+        };
+
+        codec.write(out, new UserSimpleResponse(2L, "bob", null), JsonInclude.Include.NON_NULL);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":2,\"username\":\"bob\"}");
+    }
+
+    @Test
+    void malformedInputIsUnchecked() {
+        assertThatThrownBy(() -> codec.read("{not json", UserSimpleResponse.class))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+}
@@ -0,0 +1,60 @@
+package backend.support;
+
+import backend.services.components.utils.QueryCounter;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+/**
+ * Statement budgets for MockMvc requests. Counts every SQL statement Hibernate prepares while
+ * the request runs (including security lookups and lazy loads during serialization) through
+ * {@link QueryCounter}, and fails with the captured SQL when the budget is exceeded:
+ * <pre>
+ * QueryBudget.atMost(2).perform(mockMvc, get("/api/tasks").with(user(principal)))
+ *         .andExpect(status().isOk());
+ * </pre>
+ * Needs a full application context, where MetricsConfig installs QueryCounter on the session
+ * factory.
+ */
+public final class QueryBudget {
+
+    private final int maxStatements;
+
+    private QueryBudget(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    public static QueryBudget atMost(int maxStatements) {
+        return new QueryBudget(maxStatements);
+    }
+
+    public ResultActions perform(MockMvc mockMvc, RequestBuilder request) throws Exception {
+        try (QueryCounter.Scope scope = QueryCounter.start(true)) {
+            ResultActions result = mockMvc.perform(request);
+            check(describe(request), scope.sql());
+            return result;
+        }
+    }
+
+    private void check(String request, List<String> statements) {
+        if (statements.size() <= maxStatements) {
+            return;
+        }
+        StringBuilder message = new StringBuilder()
+                .append(request).append(" executed ").append(statements.size())
+                .append(" SQL statements, budget is ").append(maxStatements).append(':');
+        for (int i = 0; i < statements.size(); i++) {
+            message.append(System.lineSeparator()).append(String.format("%3d. ", i + 1)).append(statements.get(i));
+        }
+        throw new AssertionError(message.toString());
+    }
+
+    private static String describe(RequestBuilder request) {
+        var mockRequest = request.buildRequest(new MockServletContext());
+        String query = mockRequest.getQueryString();
+        return mockRequest.getMethod() + " " + mockRequest.getRequestURI() + (query == null ? "" : "?" + query);
+    }
+}
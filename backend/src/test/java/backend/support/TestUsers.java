@@ -0,0 +1,72 @@
+package backend.support;
+
+import backend.config.ReadWriteRoutingDataSource;
+import backend.enums.RoleName;
+import backend.model.Role;
+import backend.model.User;
+import backend.repository.RoleRepository;
+import backend.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Users saved straight through the repositories for integration tests, removed again by
+ * {@link #deleteAll()}:
+ * <pre>
+ * users = new TestUsers(roleRepository, userRepository);
+ * member = users.create("paging-member", RoleName.USER);
+ * ...
+ * users.deleteAll();  // in &#64;AfterEach, after the rows that reference them
+ * </pre>
+ * A user named {@code n} has username {@code n} and email {@code n@example.com}; roles are
+ * created on first use.
+ */
+public final class TestUsers {
+
+    private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final List<User> created = new ArrayList<>();
+
+    public TestUsers(RoleRepository roleRepository, UserRepository userRepository) {
+        this.roleRepository = roleRepository;
+        this.userRepository = userRepository;
+    }
+
+    public User create(String name, RoleName roleName) {
+        return create(name, roleName, user -> {
+        });
+    }
+
+    /**
+     * Like {@link #create(String, RoleName)}, with {@code customizer} applied to the builder
+     * before the user is saved.
+     */
+    public User create(String name, RoleName roleName, Consumer<User.UserBuilder> customizer) {
+        User.UserBuilder builder = User.builder()
+                .fullName(name)
+                .username(name)
+                .email(name + "@example.com")
+                .password("not-a-hash")
+                .role(role(roleName))
+                .createdAt(LocalDateTime.now());
+        customizer.accept(builder);
+        User user = userRepository.save(builder.build());
+        created.add(user);
+        return user;
+    }
+
+    // Read from the primary: with a replica configured, a role saved moments ago may not be
+    // on the replica yet.
+    public Role role(RoleName roleName) {
+        return ReadWriteRoutingDataSource.onPrimary(() -> roleRepository.findByName(roleName))
+                .orElseGet(() -> roleRepository.save(new Role(null, roleName)));
+    }
+
+    public void deleteAll() {
+        userRepository.deleteAllInBatch(created);
+        created.clear();
+    }
+}